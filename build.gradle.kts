@@ -14,6 +14,7 @@ repositories {
 }
 
 val junitVersion = "5.10.2"
+val jmhVersion = "1.37"
 
 java {
     toolchain {
@@ -45,6 +46,45 @@ tasks.withType<Test> {
     useJUnitPlatform()
 }
 
+// JMH 基準測試 (src/jmh/java)，以 classpath 方式執行，不經過模組系統
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets["main"].output + sourceSets["main"].compileClasspath
+    runtimeClasspath += output + compileClasspath + sourceSets["main"].runtimeClasspath
+}
+
+dependencies {
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:${jmhVersion}")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:${jmhVersion}")
+}
+
+tasks.register<JavaExec>("jmh") {
+    group = "verification"
+    description = "Runs the JMH benchmarks and writes the report to bench_output.txt."
+    dependsOn(tasks.named(jmh.classesTaskName))
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    // 可用 -PjmhIncludes=<regex> 只跑部分基準測試
+    val includes = providers.gradleProperty("jmhIncludes").orElse("org\\.notiva\\.beatrush\\.benchmark\\..*")
+    args = listOf(
+        includes.get(),
+        "-prof", "gc",
+        "-rf", "json",
+        "-rff", layout.buildDirectory.file("reports/jmh/results.json").get().asFile.path,
+        "-o", rootProject.file("bench_output.txt").path
+    )
+    doFirst {
+        layout.buildDirectory.dir("reports/jmh").get().asFile.mkdirs()
+    }
+}
+
+tasks.register<JavaExec>("compileCharts") {
+    group = "application"
+    description = "Compiles assets/chart/*.json into binary .bchart charts."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainModule.set("org.notiva.beatrush")
+    mainClass.set("org.notiva.beatrush.core.BinaryChart")
+}
+
 jlink {
     imageZip.set(layout.buildDirectory.file("/distributions/app-${javafx.platform.classifier}.zip"))
     options.set(listOf("--strip-debug", "--compress", "2", "--no-header-files", "--no-man-pages"))
@@ -0,0 +1,94 @@
+package org.notiva.beatrush.benchmark;
+
+import java.io.StringReader;
+import java.util.Random;
+
+import org.notiva.beatrush.core.ResourceLoader;
+import org.notiva.beatrush.util.Chart;
+import org.notiva.beatrush.util.NoteType;
+import org.notiva.beatrush.util.TrackType;
+
+/**
+ * <h2>基準測試用譜面</h2>
+ * <p>
+ * 以固定亂數種子產生指定音符數量的譜面，格式與 {@code assets/chart/} 下的 JSON 譜面相同。
+ * 音符依時間遞增、平均分散在四個音軌，約一成為長按音符。
+ * 與實際譜面相同，同一音軌上的音符不會重疊（長按結束後才會有下一個音符），自動遊玩可以全部 Perfect。
+ * </p>
+ */
+final class ChartFixtures {
+
+    /** 亂數種子（固定，讓每次執行的譜面相同） */
+    static final long SEED = 20251018L;
+
+    /** 長按音符比例 */
+    private static final double HOLD_RATIO = 0.1;
+
+    /** 同一音軌上，長按結束到下一個音符的最小間隔（ms） */
+    private static final double MIN_TRACK_GAP_MS = 50;
+
+    private static final TrackType[] TRACK_TYPES = TrackType.values();
+
+    private ChartFixtures() {
+    }
+
+    /**
+     * 產生 JSON 譜面內容。
+     *
+     * @param noteCount 音符數量
+     * @return JSON 字串
+     */
+    static String generateJson(int noteCount) {
+        Random random = new Random(SEED);
+        StringBuilder json = new StringBuilder(noteCount * 80 + 256);
+        double timestamp = 1000;
+        json.append("{\"metadata\":{")
+                .append("\"songName\":\"bench-").append(noteCount).append("\",")
+                .append("\"songAuthor\":\"BeatRush\",")
+                .append("\"songImagePath\":\"/image/song/default.png\",");
+        StringBuilder notes = new StringBuilder(noteCount * 80);
+        // 各音軌可以再放音符的最早時間
+        double[] trackFreeAt = new double[TRACK_TYPES.length];
+        for (int i = 0; i < noteCount; i++) {
+            timestamp += 50 + random.nextInt(200);
+            boolean hold = random.nextDouble() < HOLD_RATIO;
+            int duration = hold ? 200 + random.nextInt(800) : 0;
+            // 選到的音軌還在長按中時，改用下一個空閒的音軌；都在長按中就延後到最早空閒的音軌
+            int track = random.nextInt(TRACK_TYPES.length);
+            int earliest = track;
+            for (int k = 0; k < TRACK_TYPES.length && trackFreeAt[track] > timestamp; k++) {
+                track = (track + 1) % TRACK_TYPES.length;
+                if (trackFreeAt[track] < trackFreeAt[earliest]) {
+                    earliest = track;
+                }
+            }
+            if (trackFreeAt[track] > timestamp) {
+                track = earliest;
+                timestamp = trackFreeAt[track];
+            }
+            trackFreeAt[track] = timestamp + duration + MIN_TRACK_GAP_MS;
+            TrackType trackType = TRACK_TYPES[track];
+            if (i > 0) {
+                notes.append(',');
+            }
+            notes.append("{\"noteType\":\"").append((hold ? NoteType.HOLD : NoteType.TAP).getSerializedName())
+                    .append("\",\"trackType\":\"").append(trackType.getSerializedName())
+                    .append("\",\"timestamp\":").append(timestamp)
+                    .append(",\"duration\":").append(duration)
+                    .append('}');
+        }
+        json.append("\"songLength\":\"").append(timestamp + 3000).append("ms\"},");
+        json.append("\"note\":[").append(notes).append("]}");
+        return json.toString();
+    }
+
+    /**
+     * 產生並解析譜面。
+     *
+     * @param noteCount 音符數量
+     * @return 解析後的 {@link Chart}
+     */
+    static Chart generateChart(int noteCount) {
+        return ResourceLoader.parseChart(new StringReader(generateJson(noteCount)), "bench-" + noteCount);
+    }
+}
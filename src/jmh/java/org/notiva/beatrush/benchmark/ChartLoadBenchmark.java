@@ -0,0 +1,59 @@
+package org.notiva.beatrush.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.notiva.beatrush.core.BinaryChart;
+import org.notiva.beatrush.core.ResourceLoader;
+import org.notiva.beatrush.util.Chart;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * <h2>譜面載入基準測試</h2>
+ * <p>
+ * 比較 {@link ResourceLoader#parseChart} 的 JSON 串流解析與 {@link BinaryChart#readChart} 的二進位載入。
+ * 每次操作為載入一整份譜面。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChartLoadBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int noteCount;
+
+    private String json;
+    private Path tempDir;
+    private Path binaryPath;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        json = ChartFixtures.generateJson(noteCount);
+        tempDir = Files.createTempDirectory("beatrush-bench");
+        binaryPath = tempDir.resolve("bench-" + noteCount + BinaryChart.EXTENSION);
+        BinaryChart.write(ResourceLoader.parseChart(new StringReader(json), "bench"), binaryPath);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(binaryPath);
+        Files.deleteIfExists(tempDir);
+    }
+
+    @Benchmark
+    public Chart parseJson() {
+        return ResourceLoader.parseChart(new StringReader(json), "bench");
+    }
+
+    @Benchmark
+    public Chart readBinary() {
+        return BinaryChart.readChart(binaryPath);
+    }
+}
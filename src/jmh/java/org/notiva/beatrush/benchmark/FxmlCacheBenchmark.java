@@ -0,0 +1,49 @@
+package org.notiva.beatrush.benchmark;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import org.notiva.beatrush.core.FxmlCache;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * <h2>FXML 快取基準測試</h2>
+ * <p>
+ * 比較每次以新的 {@link FXMLLoader} 從資源載入（讀取資源、逐一嘗試萬用字元 import 的套件查找類別），
+ * 與經由 {@link FxmlCache} 載入（共用 FXML 內容與類別查找結果）建立同一個視圖的成本。
+ * 每次操作為建立一個視圖。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FxmlCacheBenchmark {
+
+    private static final String RESOURCE_PATH = "/view/benchmark/FxmlCacheBenchmark.fxml";
+
+    private URL location;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        location = FxmlCacheBenchmark.class.getResource(RESOURCE_PATH);
+        if (location == null) {
+            throw new IllegalArgumentException("FXML resource not found: " + RESOURCE_PATH);
+        }
+    }
+
+    @Benchmark
+    public Parent uncached() throws IOException {
+        return new FXMLLoader(location).load();
+    }
+
+    @Benchmark
+    public Parent cached() {
+        return FxmlCache.load(RESOURCE_PATH, null).getRoot();
+    }
+}
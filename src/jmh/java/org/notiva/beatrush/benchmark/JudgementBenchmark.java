@@ -0,0 +1,65 @@
+package org.notiva.beatrush.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.notiva.beatrush.core.ScoreManager;
+import org.notiva.beatrush.util.JudgementLevel;
+import org.notiva.beatrush.util.JudgementProfile;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <h2>判定與計分基準測試</h2>
+ * <p>
+ * 以整份譜面為單位，測量 {@link ScoreManager#calculateJudgement} 與 {@link ScoreManager#addScore} 的成本。
+ * 時間差在 BAD 判定區間附近均勻分佈，涵蓋所有評分等級；判定表依各難度預設建立。
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JudgementBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int noteCount;
+
+    @Param({"EASY", "NORMAL", "HARD"})
+    public JudgementProfile profile;
+
+    private final ScoreManager scoreManager = new ScoreManager();
+
+    private double[] timeDiffs;
+    private JudgementLevel[] judgements;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scoreManager.setJudgementProfile(profile);
+        Random random = new Random(ChartFixtures.SEED);
+        timeDiffs = new double[noteCount];
+        judgements = new JudgementLevel[noteCount];
+        for (int i = 0; i < noteCount; i++) {
+            timeDiffs[i] = -900 + random.nextDouble() * 1300;
+            judgements[i] = scoreManager.calculateJudgement(timeDiffs[i]);
+        }
+    }
+
+    @Benchmark
+    public void calculateJudgement(Blackhole blackhole) {
+        for (double timeDiff : timeDiffs) {
+            blackhole.consume(scoreManager.calculateJudgement(timeDiff));
+        }
+    }
+
+    @Benchmark
+    public int addScore() {
+        scoreManager.reset();
+        for (JudgementLevel judgement : judgements) {
+            scoreManager.addScore(judgement);
+        }
+        return scoreManager.getCurrentScore().getTotalScore();
+    }
+}
@@ -0,0 +1,50 @@
+package org.notiva.beatrush.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.notiva.beatrush.core.GameSimulator;
+import org.notiva.beatrush.util.Chart;
+import org.notiva.beatrush.util.InputScript;
+import org.notiva.beatrush.util.Score;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * <h2>無畫面模擬基準測試</h2>
+ * <p>
+ * 測量 {@link GameSimulator} 以自動遊玩輸入跑完整份譜面（判定、長按計分、漏接與計分）的成本，
+ * 以及完全不輸入（全部漏接）的成本。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int noteCount;
+
+    private GameSimulator simulator;
+    private InputScript autoPlay;
+    private InputScript noInput;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Chart chart = ChartFixtures.generateChart(noteCount);
+        simulator = new GameSimulator(chart);
+        autoPlay = InputScript.autoPlay(chart);
+        noInput = new InputScript.Builder().build();
+    }
+
+    @Benchmark
+    public Score autoPlay() {
+        return simulator.run(autoPlay);
+    }
+
+    @Benchmark
+    public Score noInput() {
+        return simulator.run(noInput);
+    }
+}
@@ -0,0 +1,121 @@
+package org.notiva.beatrush.benchmark;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.notiva.beatrush.util.Chart;
+import org.notiva.beatrush.util.NoteTable;
+import org.notiva.beatrush.util.NoteType;
+import org.notiva.beatrush.util.Track;
+import org.notiva.beatrush.util.TrackType;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * <h2>音軌建立基準測試</h2>
+ * <p>
+ * {@link #loadTrack()} 測量 {@code RhythmGameManager.loadTrack(Chart)} 的實際路徑：
+ * 譜面載入時已依音軌建好 {@link NoteTable}，這裡只為每個音軌建立 {@link Track}。
+ * </p>
+ *
+ * <p>
+ * {@link #buildNoteTables()} 測量譜面載入（{@code ResourceLoader.parseChart}、{@code BinaryChart.readChart}）
+ * 中把音符依音軌放進 {@link NoteTable.Builder} 並建立 {@link NoteTable} 的步驟，
+ * 分別以依時間排序與打亂順序的輸入測試，後者需要排序。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrackLoadBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int noteCount;
+
+    @Param({"true", "false"})
+    public boolean sorted;
+
+    private Chart chart;
+    private TrackType[] trackTypes;
+    private double[] timestamps;
+    private double[] durations;
+    private NoteType[] noteTypes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        chart = ChartFixtures.generateChart(noteCount);
+        trackTypes = new TrackType[noteCount];
+        timestamps = new double[noteCount];
+        durations = new double[noteCount];
+        noteTypes = new NoteType[noteCount];
+        int n = 0;
+        for (Map.Entry<TrackType, NoteTable> entry : chart.getNoteTables().entrySet()) {
+            NoteTable noteTable = entry.getValue();
+            for (int i = 0; i < noteTable.size(); i++, n++) {
+                trackTypes[n] = entry.getKey();
+                timestamps[n] = noteTable.getTimestamp(i);
+                durations[n] = noteTable.getDuration(i);
+                noteTypes[n] = noteTable.getNoteType(i);
+            }
+        }
+        if (!sorted) {
+            shuffle(new Random(ChartFixtures.SEED));
+        }
+    }
+
+    @Benchmark
+    public List<Track> loadTrack() {
+        List<Track> tracks = new ArrayList<>();
+        for (Map.Entry<TrackType, NoteTable> entry : chart.getNoteTables().entrySet()) {
+            tracks.add(new Track(entry.getKey(), entry.getValue()));
+        }
+        return tracks;
+    }
+
+    @Benchmark
+    public Map<TrackType, NoteTable> buildNoteTables() {
+        Map<TrackType, NoteTable.Builder> grouped = new EnumMap<>(TrackType.class);
+        for (TrackType type : TrackType.values()) {
+            grouped.put(type, new NoteTable.Builder());
+        }
+        for (int i = 0; i < timestamps.length; i++) {
+            grouped.get(trackTypes[i]).add(timestamps[i], durations[i], noteTypes[i]);
+        }
+        Map<TrackType, NoteTable> noteTables = new EnumMap<>(TrackType.class);
+        for (Map.Entry<TrackType, NoteTable.Builder> entry : grouped.entrySet()) {
+            noteTables.put(entry.getKey(), entry.getValue().build());
+        }
+        return noteTables;
+    }
+
+    /**
+     * 以 Fisher-Yates 打亂音符順序。
+     *
+     * @param random 亂數產生器
+     */
+    private void shuffle(Random random) {
+        for (int i = timestamps.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            swap(trackTypes, i, j);
+            swap(noteTypes, i, j);
+            double timestamp = timestamps[i];
+            timestamps[i] = timestamps[j];
+            timestamps[j] = timestamp;
+            double duration = durations[i];
+            durations[i] = durations[j];
+            durations[j] = duration;
+        }
+    }
+
+    private static <T> void swap(T[] array, int i, int j) {
+        T value = array[i];
+        array[i] = array[j];
+        array[j] = value;
+    }
+}
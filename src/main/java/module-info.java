@@ -2,6 +2,7 @@ module org.notiva.beatrush {
     requires javafx.controls;
     requires javafx.fxml;
     requires javafx.media;
+    requires java.desktop;
     requires com.google.gson;
 
     opens org.notiva.beatrush.component to javafx.fxml, com.google.gson;
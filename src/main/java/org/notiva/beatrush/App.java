@@ -2,6 +2,8 @@ package org.notiva.beatrush;
 
 import javafx.application.Application;
 import javafx.stage.Stage;
+import org.notiva.beatrush.core.FxmlCache;
+import org.notiva.beatrush.core.GameSetting;
 import org.notiva.beatrush.core.ResourceLoader;
 import org.notiva.beatrush.core.StageManager;
 import org.notiva.beatrush.core.MediaManager;
@@ -18,6 +20,16 @@ public class App extends Application {
         stageManager.showStage("BeatRush", "/view/page/StartMenuPage.fxml");
     }
 
+    @Override
+    public void stop() {
+        // 釋放歌曲播放器的原生資源
+        mediaManager.releaseSongPlayer();
+        // 各元件的 FXML 建立時間
+        if (GameSetting.Cache.LOG_FXML_STATS) {
+            System.out.println(FxmlCache.getStats());
+        }
+    }
+
     private void initStage(Stage stage) {
         stage.setTitle("BeatRush");
         stage.getIcons().add(ResourceLoader.loadImage("/image/material/beatrush-icon.png"));
@@ -0,0 +1,201 @@
+package org.notiva.beatrush.component;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import org.notiva.beatrush.core.ResourceLoader;
+import org.notiva.beatrush.util.NoteTable;
+import org.notiva.beatrush.util.PendingNoteQueue;
+import org.notiva.beatrush.util.TrackLayout;
+
+/**
+ * <h2>Canvas 遊玩區繪製器</h2>
+ * <p>
+ * 以單一 {@link Canvas} 即時繪製音符、長按本體與判定線，不為音符建立任何場景節點，
+ * 因此不會有逐音符的 CSS 與 layout 計算。
+ * Canvas 覆蓋 {@link TrackLayout#topY} 到 {@link TrackLayout#bottomY} 的可視範圍，
+ * 繪製時沿用 {@link TrackLayout} 的 local Y 座標。
+ * </p>
+ */
+public class CanvasPlayfieldRenderer implements PlayfieldRenderer {
+
+    /**
+     * 音符圖片（所有音軌共用）
+     */
+    private static final Image NOTE_IMAGE = ResourceLoader.loadImage("/image/material/blue-note.png");
+
+    /**
+     * 音符寬度，同 {@code NoteView.fxml} 中的 fitWidth
+     */
+    private static final double NOTE_WIDTH = 150.0;
+
+    /**
+     * 判定線左右內縮距離
+     */
+    private static final double JUDGEMENT_LINE_INSET_X = 15.0;
+
+    /**
+     * 判定線粗細
+     */
+    private static final double JUDGEMENT_LINE_WIDTH = 15.0;
+
+    /**
+     * 長按本體寬度佔音符寬度的比例
+     */
+    private static final double HOLD_BODY_WIDTH_RATIO = 0.4;
+
+    private static final Color JUDGEMENT_LINE_COLOR = Color.rgb(255, 255, 255, 0.5);
+    private static final Color HOLD_BODY_COLOR = Color.rgb(90, 160, 255, 0.6);
+
+    private final Pane notesBox;
+    private Canvas canvas;
+    private GraphicsContext gc;
+    private TrackLayout trackLayout;
+    private double noteHeight;
+
+    /**
+     * 正被按住的長按音符索引，-1 表示沒有
+     */
+    private int heldIndex = -1;
+
+    /**
+     * 判定為 Miss、仍在落下的音符索引（依出現順序排列）
+     */
+    private final PendingNoteQueue missedNotes = new PendingNoteQueue();
+
+    /**
+     * 建構 Canvas 遊玩區繪製器。
+     *
+     * @param notesBox 容納 {@link Canvas} 的容器
+     */
+    public CanvasPlayfieldRenderer(Pane notesBox) {
+        this.notesBox = notesBox;
+    }
+
+    @Override
+    public void init(TrackLayout trackLayout, double width) {
+        this.trackLayout = trackLayout;
+        this.noteHeight = NOTE_WIDTH * NOTE_IMAGE.getHeight() / NOTE_IMAGE.getWidth();
+        canvas = new Canvas(width, trackLayout.bottomY - trackLayout.topY);
+        canvas.setLayoutY(trackLayout.topY);
+        canvas.setMouseTransparent(true);
+        gc = canvas.getGraphicsContext2D();
+        notesBox.getChildren().add(canvas);
+        drawJudgementLine();
+    }
+
+    @Override
+    public void warmUp() {
+    }
+
+    @Override
+    public void onNoteSpawned(NoteTable noteTable, int noteIndex) {
+    }
+
+    @Override
+    public void onHoldStarted(int noteIndex) {
+        heldIndex = noteIndex;
+    }
+
+    @Override
+    public void onNoteRemoved(int noteIndex) {
+        if (noteIndex == heldIndex) {
+            heldIndex = -1;
+        }
+    }
+
+    @Override
+    public void onNoteMissed(int noteIndex) {
+        onNoteRemoved(noteIndex);
+        missedNotes.add(noteIndex);
+    }
+
+    @Override
+    public void render(NoteTable noteTable, int fromIndex, int toIndex, double elapsedMillis) {
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        drawJudgementLine();
+        // 漏接的音符依出現順序落出畫面，整個音符（長按看尾端）超過 endY 才不再繪製
+        while (!missedNotes.isEmpty()) {
+            int note = missedNotes.peek();
+            double tailMillis = noteTable.getTimestamp(note) + (noteTable.isHold(note) ? noteTable.getDuration(note) : 0);
+            if (trackLayout.calculateNoteY(tailMillis, elapsedMillis) <= trackLayout.endY) {
+                break;
+            }
+            missedNotes.poll();
+        }
+        for (int i = 0; i < missedNotes.size(); i++) {
+            drawNote(noteTable, missedNotes.get(i), elapsedMillis);
+        }
+        for (int i = fromIndex; i < toIndex; i++) {
+            drawNote(noteTable, i, elapsedMillis);
+        }
+    }
+
+    @Override
+    public void clear() {
+        heldIndex = -1;
+        missedNotes.clear();
+        if (gc != null) {
+            gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            drawJudgementLine();
+        }
+    }
+
+    /**
+     * 依據遊戲時間畫出一個音符（長按音符連同本體）。
+     *
+     * @param noteTable     音軌的音符表
+     * @param noteIndex     音符索引
+     * @param elapsedMillis 已經過的遊戲時間（ms）
+     */
+    private void drawNote(NoteTable noteTable, int noteIndex, double elapsedMillis) {
+        double timestamp = noteTable.getTimestamp(noteIndex);
+        double headY = trackLayout.calculateNoteY(timestamp, elapsedMillis);
+        if (noteIndex == heldIndex) {
+            // 按住期間音符頭停在判定線上
+            headY = Math.min(headY, trackLayout.judgementLineY);
+        }
+        if (noteTable.isHold(noteIndex)) {
+            // 尾端照常下落，本體隨按住時間縮短
+            double tailY = trackLayout.calculateNoteY(timestamp + noteTable.getDuration(noteIndex), elapsedMillis);
+            drawHoldBody(toCanvasY(headY), Math.max(headY - tailY, 0));
+        }
+        gc.drawImage(NOTE_IMAGE, 0, toCanvasY(headY), NOTE_WIDTH, noteHeight);
+    }
+
+    /**
+     * 畫出判定線。
+     */
+    private void drawJudgementLine() {
+        double y = toCanvasY(trackLayout.judgementLineY);
+        gc.setStroke(JUDGEMENT_LINE_COLOR);
+        gc.setLineWidth(JUDGEMENT_LINE_WIDTH);
+        gc.strokeLine(JUDGEMENT_LINE_INSET_X, y, canvas.getWidth() - JUDGEMENT_LINE_INSET_X, y);
+    }
+
+    /**
+     * 畫出長按音符的本體（從音符頭往上延伸）。
+     *
+     * @param headY  音符頭的 canvas Y 座標
+     * @param length 本體長度
+     */
+    private void drawHoldBody(double headY, double length) {
+        double bodyWidth = NOTE_WIDTH * HOLD_BODY_WIDTH_RATIO;
+        double x = (NOTE_WIDTH - bodyWidth) / 2;
+        double centerY = headY + noteHeight / 2;
+        gc.setFill(HOLD_BODY_COLOR);
+        gc.fillRect(x, centerY - length, bodyWidth, length);
+    }
+
+    /**
+     * 將 local Y 座標換算為 canvas Y 座標。
+     *
+     * @param localY local Y 座標
+     * @return canvas Y 座標
+     */
+    private double toCanvasY(double localY) {
+        return localY - trackLayout.topY;
+    }
+}
@@ -0,0 +1,156 @@
+package org.notiva.beatrush.component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Line;
+import org.notiva.beatrush.core.GameSetting;
+import org.notiva.beatrush.util.NoteTable;
+import org.notiva.beatrush.util.TrackLayout;
+
+/**
+ * <h2>場景節點遊玩區繪製器</h2>
+ * <p>
+ * 每個存活音符對應一個 {@link NoteView} 節點，判定線為一條 {@link Line}。
+ * {@link NoteView} 由 {@link NoteViewPool} 提供並回收。
+ * </p>
+ */
+public class NodePlayfieldRenderer implements PlayfieldRenderer {
+
+    /**
+     * 存活音符的節點（依出現順序排列，與存活音符索引區間一一對應）
+     */
+    private final Deque<NoteView> noteViews = new ArrayDeque<>();
+
+    /**
+     * 判定為 Miss、仍在落下的音符節點（依出現順序排列）
+     */
+    private final Deque<NoteView> missedNoteViews = new ArrayDeque<>();
+
+    private final Pane notesBox;
+    private final NoteViewPool notePool;
+    private TrackLayout trackLayout;
+
+    /**
+     * 建構場景節點遊玩區繪製器。
+     *
+     * @param notesBox 容納 {@link NoteView} 的容器
+     */
+    public NodePlayfieldRenderer(Pane notesBox) {
+        this.notesBox = notesBox;
+        this.notePool = new NoteViewPool(notesBox);
+    }
+
+    @Override
+    public void init(TrackLayout trackLayout, double width) {
+        this.trackLayout = trackLayout;
+        // 判定線放在最底層，音符畫在其上
+        notesBox.getChildren().add(0, createJudgementLine(width));
+    }
+
+    @Override
+    public void warmUp() {
+        notePool.warmUp(GameSetting.Render.NOTE_POOL_SIZE_PER_TRACK);
+    }
+
+    @Override
+    public void onNoteSpawned(NoteTable noteTable, int noteIndex) {
+        NoteView noteView = notePool.acquire();
+        noteView.setSpawnMillis(noteTable.getTimestamp(noteIndex));
+        noteView.setDurationMillis(noteTable.isHold(noteIndex) ? noteTable.getDuration(noteIndex) : 0);
+        // 位置在同一幀的 render 中依遊戲時間更新，晚出現的音符也會畫在正確的位置
+        noteView.setLayoutY(trackLayout.startY);
+        noteViews.addLast(noteView);
+    }
+
+    @Override
+    public void onHoldStarted(int noteIndex) {
+        NoteView noteView = noteViews.peekFirst();
+        if (noteView != null) {
+            noteView.setHeld(true);
+        }
+    }
+
+    @Override
+    public void onNoteRemoved(int noteIndex) {
+        NoteView noteView = noteViews.pollFirst();
+        if (noteView != null) {
+            notePool.release(noteView);
+        }
+    }
+
+    @Override
+    public void onNoteMissed(int noteIndex) {
+        NoteView noteView = noteViews.pollFirst();
+        if (noteView != null) {
+            missedNoteViews.addLast(noteView);
+        }
+    }
+
+    @Override
+    public void render(NoteTable noteTable, int fromIndex, int toIndex, double elapsedMillis) {
+        // 漏接的音符依出現順序落出畫面，整個音符超過 endY 才回收
+        while (!missedNoteViews.isEmpty() && isPastEnd(missedNoteViews.peekFirst(), elapsedMillis)) {
+            notePool.release(missedNoteViews.pollFirst());
+        }
+        for (NoteView noteView : missedNoteViews) {
+            noteView.updatePosition(elapsedMillis, trackLayout);
+        }
+        for (NoteView noteView : noteViews) {
+            noteView.updatePosition(elapsedMillis, trackLayout);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (NoteView noteView : noteViews) {
+            notePool.release(noteView);
+        }
+        noteViews.clear();
+        for (NoteView noteView : missedNoteViews) {
+            notePool.release(noteView);
+        }
+        missedNoteViews.clear();
+    }
+
+    /**
+     * 取得音符元件池（可用於查看命中與未命中次數）。
+     *
+     * @return 音符元件池
+     */
+    public NoteViewPool getNotePool() {
+        return notePool;
+    }
+
+    /**
+     * 檢查音符是否已整個落到 {@link TrackLayout#endY} 之下（長按音符看尾端）。
+     *
+     * @param noteView      音符節點
+     * @param elapsedMillis 已經過的遊戲時間（ms）
+     * @return 若已落出則為 true
+     */
+    private boolean isPastEnd(NoteView noteView, double elapsedMillis) {
+        double tailMillis = noteView.getSpawnMillis() + noteView.getDurationMillis();
+        return trackLayout.calculateNoteY(tailMillis, elapsedMillis) > trackLayout.endY;
+    }
+
+    /**
+     * 建立判定線，並依據佈局尺寸點設定位置。
+     *
+     * @param width 音軌寬度
+     * @return 判定線
+     */
+    private Line createJudgementLine(double width) {
+        Line line = new Line();
+        line.setStroke(Color.WHITE);
+        line.setStrokeWidth(15);
+        line.setOpacity(0.5);
+        line.setStartX(15);
+        line.setStartY(trackLayout.judgementLineY);
+        line.setEndX(width - 15);
+        line.setEndY(trackLayout.judgementLineY);
+        return line;
+    }
+}
@@ -1,17 +1,48 @@
 package org.notiva.beatrush.component;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import javafx.fxml.FXML;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
-import javafx.util.Duration;
+import javafx.scene.shape.Rectangle;
 import org.notiva.beatrush.core.ResourceLoader;
-import org.notiva.beatrush.core.GameSetting;
+import org.notiva.beatrush.util.TrackLayout;
 
 /**
  * <h2>音符元件</h2>
+ * <p>
+ * 音符本身不持有任何動畫，位置由 {@link NodePlayfieldRenderer} 每幀依據遊戲時間直接計算。
+ * 長按音符另有一段從音符頭往上延伸的本體，長度對應持續時間；按住期間音符頭停在判定線上，本體隨時間縮短。
+ * </p>
  */
 public class NoteView extends Pane {
 
+    /**
+     * 音符出現在 {@link TrackLayout#startY} 的遊戲時間（ms）
+     */
+    private double spawnMillis;
+
+    /**
+     * 長按持續時間（ms），TapNote 為 0
+     */
+    private double durationMillis;
+
+    /**
+     * 是否正被按住
+     */
+    private boolean held;
+
+    /**
+     * 長按本體
+     */
+    @FXML
+    private Rectangle holdBody;
+
+    /**
+     * 音符頭圖片
+     */
+    @FXML
+    private ImageView noteImage;
+
     /**
      * 預設建構子，會載入對應的 FXML 版面。
      */
@@ -20,30 +51,92 @@ public class NoteView extends Pane {
     }
 
     /**
-     * 計算此 Note 與判定線之間的時間差（以 ms 為單位）。
-     * 可用於判定使用者的擊打準確度。
+     * 建構子：指定音符出現的遊戲時間。
+     *
+     * @param spawnMillis 音符出現在起始位置的遊戲時間（ms）。
+     */
+    public NoteView(double spawnMillis) {
+        this();
+        setSpawnMillis(spawnMillis);
+    }
+
+    /**
+     * 依據目前遊戲時間，將音符放到對應的 Y 位置。
+     * 位置完全由時間推得，不會因為幀率不穩而累積誤差。
+     *
+     * @param elapsedMillis 已經過的遊戲時間（ms）。
+     * @param trackLayout   所屬音軌的佈局資訊。
+     */
+    public void updatePosition(double elapsedMillis, TrackLayout trackLayout) {
+        double headY = trackLayout.calculateNoteY(spawnMillis, elapsedMillis);
+        if (held) {
+            // 按住期間音符頭停在判定線上
+            headY = Math.min(headY, trackLayout.judgementLineY);
+        }
+        setLayoutY(headY);
+        if (durationMillis > 0) {
+            // 本體從音符頭中心延伸到音符尾（尾端照常下落）
+            double tailY = trackLayout.calculateNoteY(spawnMillis + durationMillis, elapsedMillis);
+            double length = Math.max(headY - tailY, 0);
+            double centerY = noteImage.getLayoutBounds().getHeight() / 2;
+            holdBody.setY(centerY - length);
+            holdBody.setHeight(length);
+        }
+    }
+
+    /**
+     * 取得音符出現的遊戲時間（ms）。
+     *
+     * @return 出現時間
+     */
+    public double getSpawnMillis() {
+        return spawnMillis;
+    }
+
+    /**
+     * 設定音符出現的遊戲時間（ms）。
+     *
+     * @param spawnMillis 出現時間
+     */
+    public void setSpawnMillis(double spawnMillis) {
+        this.spawnMillis = spawnMillis;
+    }
+
+    /**
+     * 取得長按持續時間（ms）。
+     *
+     * @return 持續時間，TapNote 為 0
+     */
+    public double getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * 設定長按持續時間（ms），同時清除按住狀態。
+     *
+     * @param durationMillis 持續時間，TapNote 為 0
+     */
+    public void setDurationMillis(double durationMillis) {
+        this.durationMillis = durationMillis;
+        this.held = false;
+        holdBody.setVisible(durationMillis > 0);
+    }
+
+    /**
+     * 檢查是否正被按住。
      *
-     * @param judgementLineY 判定線在 Y 軸的位置。
-     * @return 目前 Note 的位置與判定線之間對應的時間差（ms），
-     *         正值代表尚未抵達判定線，負值代表已經超過。
+     * @return 若正被按住則為 true
      */
-    public double calculateTimeDiff(double judgementLineY) {
-        return (this.getLayoutY() - judgementLineY) / GameSetting.ObjectMotion.FALL_DOWN_Y_PER_MS;
+    public boolean isHeld() {
+        return held;
     }
 
     /**
-     * 建立一個讓 Note 依據每幀下落距離進行動畫的 {@link Timeline}。
+     * 設定是否正被按住。
      *
-     * @param cycles 動畫執行的循環次數。通常是依照音符從起始點移動到判定線所需的幀數。
-     * @return 配置完成的 {@link Timeline} 實例，用於控制下落動畫。
+     * @param held 是否正被按住
      */
-    public Timeline createFallingAnimation(int cycles) {
-        Timeline timeline = new Timeline(
-                new KeyFrame(Duration.seconds(GameSetting.Timing.FRAME_TIME_S), e -> {
-                    setLayoutY(getLayoutY() + GameSetting.ObjectMotion.FALL_DOWN_Y_PER_FRAME);
-                })
-        );
-        timeline.setCycleCount(cycles);
-        return timeline;
+    public void setHeld(boolean held) {
+        this.held = held;
     }
 }
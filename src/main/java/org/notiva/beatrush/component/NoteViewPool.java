@@ -0,0 +1,152 @@
+package org.notiva.beatrush.component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javafx.scene.layout.Pane;
+
+/**
+ * <h2>音符元件池</h2>
+ * <p>
+ * 預先建立並重複使用 {@link NoteView}，避免遊戲中每出現一個音符就重新解析一次 FXML。
+ * 池中的元件一直留在容器內，閒置時僅隱藏，因此取用與歸還都不會異動場景圖的子節點列表。
+ * </p>
+ *
+ * <p>使用範例：</p>
+ * <pre>{@code
+ * NoteViewPool pool = new NoteViewPool(notesBox);
+ * pool.warmUp(16);               // 遊戲開始前預熱
+ * NoteView noteView = pool.acquire();
+ * pool.release(noteView);        // 判定或落出畫面時歸還
+ * System.out.println(pool);      // NoteViewPool{hit=..., miss=..., ...}
+ * }</pre>
+ */
+public class NoteViewPool {
+
+    /**
+     * 容納 {@link NoteView} 的容器
+     */
+    private final Pane notesBox;
+
+    /**
+     * 閒置中的 {@link NoteView}
+     */
+    private final Deque<NoteView> idleViews = new ArrayDeque<>();
+
+    /**
+     * 池所建立過的 {@link NoteView} 總數
+     */
+    private int createdCount = 0;
+
+    /**
+     * 取用時池中有閒置元件的次數
+     */
+    private long hitCount = 0;
+
+    /**
+     * 取用時池已空、需即時建立元件的次數
+     */
+    private long missCount = 0;
+
+    /**
+     * 建構音符元件池。
+     *
+     * @param notesBox 容納 {@link NoteView} 的容器
+     */
+    public NoteViewPool(Pane notesBox) {
+        this.notesBox = notesBox;
+    }
+
+    /**
+     * 預熱：確保池中至少有指定數量的元件（已建立者也算在內）。
+     *
+     * @param size 目標元件數量
+     */
+    public void warmUp(int size) {
+        while (createdCount < size) {
+            idleViews.addLast(createNoteView());
+        }
+    }
+
+    /**
+     * 取出一個可用的 {@link NoteView}，池空時即時建立。
+     *
+     * @return 已顯示的 {@link NoteView}
+     */
+    public NoteView acquire() {
+        NoteView noteView = idleViews.pollFirst();
+        if (noteView != null) {
+            hitCount++;
+        } else {
+            missCount++;
+            noteView = createNoteView();
+        }
+        noteView.setVisible(true);
+        return noteView;
+    }
+
+    /**
+     * 歸還 {@link NoteView} 至池中。
+     *
+     * @param noteView 不再使用的 {@link NoteView}
+     */
+    public void release(NoteView noteView) {
+        noteView.setVisible(false);
+        idleViews.addLast(noteView);
+    }
+
+    /**
+     * 建立一個新的隱藏 {@link NoteView}，並加入容器。
+     *
+     * @return 新建的 {@link NoteView}
+     */
+    private NoteView createNoteView() {
+        NoteView noteView = new NoteView();
+        noteView.setVisible(false);
+        notesBox.getChildren().add(noteView);
+        createdCount++;
+        return noteView;
+    }
+
+    /**
+     * 取得命中次數。
+     *
+     * @return 取用時池中有閒置元件的次數
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * 取得未命中次數。
+     *
+     * @return 取用時池已空、需即時建立元件的次數
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * 取得池所建立過的元件總數。
+     *
+     * @return 元件總數
+     */
+    public int getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * 取得目前閒置的元件數量。
+     *
+     * @return 閒置元件數量
+     */
+    public int getIdleCount() {
+        return idleViews.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("NoteViewPool{hit=%d, miss=%d, created=%d, idle=%d}",
+                hitCount, missCount, createdCount, idleViews.size());
+    }
+}
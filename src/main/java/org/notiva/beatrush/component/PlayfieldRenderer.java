@@ -0,0 +1,74 @@
+package org.notiva.beatrush.component;
+
+import org.notiva.beatrush.util.NoteTable;
+import org.notiva.beatrush.util.TrackLayout;
+
+/**
+ * <h2>遊玩區繪製器</h2>
+ * <p>
+ * 負責把 {@link TrackView} 上存活的音符畫出來。
+ * 繪製器只管畫面，不涉及判定與計分；所有座標皆使用 {@link TrackLayout} 的 local Y 座標。
+ * 音符以其在 {@link NoteTable} 中的索引表示，且依出現順序移除或判定為 Miss。
+ * </p>
+ */
+public interface PlayfieldRenderer {
+
+    /**
+     * 佈局尺寸點確定後初始化繪製器（例如加入判定線）。
+     *
+     * @param trackLayout 音軌佈局資訊
+     * @param width       音軌寬度
+     */
+    void init(TrackLayout trackLayout, double width);
+
+    /**
+     * 遊戲開始前預先準備繪製所需的資源，避免遊戲中途才建立。
+     */
+    void warmUp();
+
+    /**
+     * 音符出現時呼叫。
+     *
+     * @param noteTable 音軌的音符表
+     * @param noteIndex 新出現的音符索引
+     */
+    void onNoteSpawned(NoteTable noteTable, int noteIndex);
+
+    /**
+     * 長按音符的音符頭被打中、開始按住時呼叫（必為最早出現的存活音符）。
+     * 按住期間音符頭應停在判定線上，本體隨時間縮短。
+     *
+     * @param noteIndex 開始按住的音符索引
+     */
+    void onHoldStarted(int noteIndex);
+
+    /**
+     * 音符被打擊判定（非 Miss）時呼叫，應立即移除。
+     *
+     * @param noteIndex 要移除的音符索引
+     */
+    void onNoteRemoved(int noteIndex);
+
+    /**
+     * 音符判定為 Miss 時呼叫。音符不再是存活音符，但應繼續依遊戲時間落下，
+     * 整個音符超過 {@link TrackLayout#endY} 後才由繪製器自行移除。
+     *
+     * @param noteIndex 漏接的音符索引
+     */
+    void onNoteMissed(int noteIndex);
+
+    /**
+     * 依據遊戲時間畫出所有存活音符與仍在落下的漏接音符，每個 pulse 呼叫一次。
+     *
+     * @param noteTable     音軌的音符表
+     * @param fromIndex     第一個存活音符的索引（含）
+     * @param toIndex       最後一個存活音符的下一個索引（不含）
+     * @param elapsedMillis 已經過的遊戲時間（ms）
+     */
+    void render(NoteTable noteTable, int fromIndex, int toIndex, double elapsedMillis);
+
+    /**
+     * 清除所有音符的繪製內容（判定線保留）。
+     */
+    void clear();
+}
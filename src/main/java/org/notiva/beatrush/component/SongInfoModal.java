@@ -1,6 +1,7 @@
 package org.notiva.beatrush.component;
 
 import javafx.beans.property.*;
+import javafx.beans.value.ChangeListener;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.fxml.FXML;
@@ -9,6 +10,7 @@ import javafx.scene.control.*;
 import javafx.scene.image.*;
 import javafx.scene.layout.AnchorPane;
 import javafx.util.Duration;
+import org.notiva.beatrush.core.CoverImageCache;
 import org.notiva.beatrush.core.ResourceLoader;
 import org.notiva.beatrush.util.Misc;
 
@@ -44,6 +46,26 @@ public class SongInfoModal extends AnchorPane {
     private final StringProperty songImagePath = new SimpleStringProperty();
     private final DoubleProperty songImageHeight = new SimpleDoubleProperty(DEFAULT_VIEW_HEIGHT);
 
+    private final CoverImageCache coverImageCache = CoverImageCache.getInstance();
+    /**
+     * 背景載入中的封面（已載入完成或沒有時為 null），{@link #coverLoadedListener} 掛在它的寬度屬性上
+     */
+    private Image loadingCover;
+    /**
+     * 封面背景載入完成後調整 viewport；封面快取的圖片由多個元件共用，因此只掛在目前載入中的封面上
+     */
+    private final ChangeListener<Number> coverLoadedListener = (obs, oldVal, newVal) -> {
+        if (newVal.doubleValue() <= 0) {
+            return;
+        }
+        Image image = loadingCover;
+        detachCoverLoadedListener();
+        // 彈窗可能已換成其他歌曲
+        if (image != null && songImageView.getImage() == image) {
+            updateViewport(image, songImageHeight.get(), getPrefWidth());
+        }
+    };
+
     /**
      * 預設建構子，會載入對應的 FXML 版面。
      *
@@ -100,21 +122,26 @@ public class SongInfoModal extends AnchorPane {
             songLengthLabel.setText(songLengthString);
         });
         // 彈窗上的封面圖片 <- 封面圖片路徑屬性
-        songImageView.imageProperty().bind(songImagePathProperty().map(path -> {
-            Image image = ResourceLoader.loadImage(path);
-            if (image.getWidth() > 0) {
-                // normal loading 時，直接更新 viewport
-                updateViewport(image, songImageHeight.get(), getPrefWidth());
+        songImageView.imageProperty().bind(songImagePathProperty().flatMap(path ->
+                // 封面只顯示在 viewport 中，以 viewport 的大小從快取取得縮小的封面
+                coverImageCache.getCover(path, getPrefWidth(), songImageHeight.get())
+        ));
+        // 封面圖片視圖的 viewport <- 封面圖片
+        songImageView.imageProperty().addListener((obs, oldVal, newVal) -> {
+            // 換歌時先從上一張載入中的封面移除監聽器
+            detachCoverLoadedListener();
+            if (newVal == null) {
+                return;
+            }
+            if (newVal.getWidth() > 0) {
+                // 已載入完成時，直接更新 viewport
+                updateViewport(newVal, songImageHeight.get(), getPrefWidth());
             } else {
                 // background loading 在未載入時，圖片長寬為 0，我們要等載入完後再調整 viewport
-                image.widthProperty().addListener((obs, oldVal, newVal) -> {
-                    if (newVal.doubleValue() > 0) {
-                        updateViewport(image, songImageHeight.get(), getPrefWidth());
-                    }
-                });
+                loadingCover = newVal;
+                newVal.widthProperty().addListener(coverLoadedListener);
             }
-            return image;
-        }));
+        });
         // 彈窗上的封面圖片的寬度屬性 <- 彈窗寬度屬性 (圖片寬度與彈窗同寬)
         songImageView.fitWidthProperty().bind(prefWidthProperty());
         // 封面圖片視圖的 viewport <- 彈窗上的封面圖片的寬度屬性
@@ -138,6 +165,16 @@ public class SongInfoModal extends AnchorPane {
         playButton.setOnAction(e);
     }
 
+    /**
+     * 從載入中的封面移除載入完成監聽器。
+     */
+    private void detachCoverLoadedListener() {
+        if (loadingCover != null) {
+            loadingCover.widthProperty().removeListener(coverLoadedListener);
+            loadingCover = null;
+        }
+    }
+
     /**
      * 更新 viewport。
      *
@@ -146,6 +183,10 @@ public class SongInfoModal extends AnchorPane {
      * @param viewWidth   目標寬度
      */
     private void updateViewport(Image image, double viewHeight, double viewWidth) {
+        // 封面尚未查詢完成
+        if (image == null) {
+            return;
+        }
         double imageHeight = image.getHeight();
         double imageWidth = image.getWidth();
         Rectangle2D viewport = Misc.getCenteredCoverCrop(imageHeight, imageWidth, viewHeight, viewWidth);
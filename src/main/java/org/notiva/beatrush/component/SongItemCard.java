@@ -4,6 +4,7 @@ import javafx.animation.FadeTransition;
 import javafx.animation.ScaleTransition;
 import javafx.application.Platform;
 import javafx.beans.property.*;
+import javafx.beans.value.ChangeListener;
 import javafx.event.EventHandler;
 import javafx.fxml.FXML;
 import javafx.geometry.Rectangle2D;
@@ -21,6 +22,8 @@ import org.notiva.beatrush.event.MaskLayerShowEvent;
 import org.notiva.beatrush.event.SongSelectedEvent;
 import org.notiva.beatrush.util.Misc;
 import org.notiva.beatrush.core.MediaManager;
+import org.notiva.beatrush.core.SongPreloader;
+import org.notiva.beatrush.core.CoverImageCache;
 import org.notiva.beatrush.util.Song;
 
 /**
@@ -50,6 +53,8 @@ public class SongItemCard extends AnchorPane {
     private final String SOUND_EFFECT = "/media/sound/ui-menu-sound-2.mp3";
 
     private final MediaManager mediaManager = MediaManager.getInstance();
+    private final SongPreloader songPreloader = SongPreloader.getInstance();
+    private final CoverImageCache coverImageCache = CoverImageCache.getInstance();
     private ScaleTransition scaleUpOnHover;
     private ScaleTransition scaleDownOnExit;
     private Popup songInfoPopup;
@@ -61,6 +66,24 @@ public class SongItemCard extends AnchorPane {
         scaleUpOnHover.stop();
         scaleDownOnExit.playFromStart();
     };
+    /**
+     * 背景載入中的封面（已載入完成或沒有時為 null），{@link #coverLoadedListener} 掛在它的寬度屬性上
+     */
+    private Image loadingCover;
+    /**
+     * 封面背景載入完成後調整 viewport；封面快取的圖片由多張卡片共用，因此只掛在目前載入中的封面上
+     */
+    private final ChangeListener<Number> coverLoadedListener = (obs, oldVal, newVal) -> {
+        if (newVal.doubleValue() <= 0) {
+            return;
+        }
+        Image image = loadingCover;
+        detachCoverLoadedListener();
+        // 卡片可能已被重用來顯示其他歌曲
+        if (image != null && songImageView.getImage() == image) {
+            updateViewport(image, getPrefHeight(), songImageWidth.get());
+        }
+    };
 
     private final StringProperty songName = new SimpleStringProperty();
     private final StringProperty songAuthor = new SimpleStringProperty();
@@ -85,6 +108,7 @@ public class SongItemCard extends AnchorPane {
         ResourceLoader.loadComponentView(this, "/view/component/SongItemCard.fxml");
         bindProperty();
         initClickHandler();
+        initPreloadHandler();
         initScalingEffect();
         enableScalingEffect();
         enableSoundEffect();
@@ -131,6 +155,23 @@ public class SongItemCard extends AnchorPane {
         return new SongItemCard(song.getSongName(), song.getSongAuthor(), song.getSongLength(), song.getSongImagePath(), scalingEffect);
     }
 
+    /**
+     * 將卡片改為顯示指定歌曲（例如清單重複使用卡片時），並重置縮放狀態。
+     *
+     * @param song 歌曲
+     */
+    public void setSong(Song song) {
+        setSongName(song.getSongName());
+        setSongAuthor(song.getSongAuthor());
+        setSongLength(song.getSongLength());
+        setSongImagePath(song.getSongImagePath());
+        // 重複使用時可能還停在 hover 的放大狀態
+        if (scaleUpOnHover != null) scaleUpOnHover.stop();
+        if (scaleDownOnExit != null) scaleDownOnExit.stop();
+        setScaleX(1.0);
+        setScaleY(1.0);
+    }
+
     /**
      * 綁定屬性到對應的 UI 元素。
      */
@@ -145,21 +186,26 @@ public class SongItemCard extends AnchorPane {
             songLengthLabel.setText(songLengthString);
         });
         // 卡面上的封面圖片 <- 封面圖片路徑屬性
-        songImageView.imageProperty().bind(songImagePathProperty().map(path -> {
-            Image image = ResourceLoader.loadImage(path);
-            if (image.getWidth() > 0) {
-                // normal loading 時，直接更新 viewport
-                updateViewport(image, getPrefHeight(), songImageWidth.get());
+        songImageView.imageProperty().bind(songImagePathProperty().flatMap(path ->
+                // 封面只顯示在 viewport 中，以 viewport 的大小從快取取得縮小的封面
+                coverImageCache.getCover(path, songImageWidth.get(), getPrefHeight())
+        ));
+        // 封面圖片視圖的 viewport <- 封面圖片
+        songImageView.imageProperty().addListener((obs, oldVal, newVal) -> {
+            // 換歌時先從上一張載入中的封面移除監聽器
+            detachCoverLoadedListener();
+            if (newVal == null) {
+                return;
+            }
+            if (newVal.getWidth() > 0) {
+                // 已載入完成時，直接更新 viewport
+                updateViewport(newVal, getPrefHeight(), songImageWidth.get());
             } else {
                 // background loading 在未載入時，圖片長寬為 0，我們要等載入完後再調整 viewport
-                image.widthProperty().addListener((obs, oldVal, newVal) -> {
-                    if (newVal.doubleValue() > 0) {
-                        updateViewport(image, getPrefHeight(), songImageWidth.get());
-                    }
-                });
+                loadingCover = newVal;
+                newVal.widthProperty().addListener(coverLoadedListener);
             }
-            return image;
-        }));
+        });
         // 卡面上的封面圖片的寬度屬性 <- 封面圖片寬度屬性 (圖片寬度不與卡片同寬，因為這是橫向卡片)
         songImageView.fitWidthProperty().bind(songImageWidth);
         // 封面圖片視圖的 viewport <- 卡面上的封面圖片的寬度屬性
@@ -182,6 +228,16 @@ public class SongItemCard extends AnchorPane {
         });
     }
 
+    /**
+     * 從載入中的封面移除載入完成監聽器。
+     */
+    private void detachCoverLoadedListener() {
+        if (loadingCover != null) {
+            loadingCover.widthProperty().removeListener(coverLoadedListener);
+            loadingCover = null;
+        }
+    }
+
     /**
      * 更新 viewport。
      *
@@ -190,6 +246,10 @@ public class SongItemCard extends AnchorPane {
      * @param viewWidth  目標寬度
      */
     private void updateViewport(Image image, double viewHeight, double viewWidth) {
+        // 封面尚未查詢完成
+        if (image == null) {
+            return;
+        }
         double imageHeight = image.getHeight();
         double imageWidth = image.getWidth();
         Rectangle2D viewport = Misc.getCenteredCoverCrop(imageHeight, imageWidth, viewHeight, viewWidth);
@@ -246,6 +306,22 @@ public class SongItemCard extends AnchorPane {
         addEventHandler(MouseEvent.MOUSE_CLICKED, e -> showSongInfoPopup());
     }
 
+    /**
+     * 初始化預載事件處理器：滑鼠停留在卡片上時，就先在背景載入譜面與音樂。
+     */
+    private void initPreloadHandler() {
+        addEventHandler(MouseEvent.MOUSE_ENTERED, e -> songPreloader.preload(toSong()));
+    }
+
+    /**
+     * 以目前的屬性建立歌曲物件。
+     *
+     * @return 歌曲
+     */
+    private Song toSong() {
+        return new Song(getSongName(), getSongAuthor(), getSongLength(), getSongImagePath());
+    }
+
     /**
      * 顯示歌曲資訊彈出視窗。
      */
@@ -256,6 +332,10 @@ public class SongItemCard extends AnchorPane {
             return;
         }
 
+        // 打開彈窗時確保已開始預載 (例如未經過滑鼠停留)
+        Song song = toSong();
+        songPreloader.preload(song);
+
         // === 1. 淡入遮罩 ===
         fireEvent(new MaskLayerShowEvent());
 
@@ -286,7 +366,6 @@ public class SongItemCard extends AnchorPane {
         });
         
         // === 4. 互動 ===
-        Song song = new Song(getSongName(), getSongAuthor(), getSongLength(), getSongImagePath());
         popupContent.setOnPlayButtonClick(e -> {
             songInfoPopup.hide();
             fireEvent(new SongSelectedEvent(song));
@@ -0,0 +1,43 @@
+package org.notiva.beatrush.component;
+
+import javafx.scene.Group;
+import javafx.scene.control.ListCell;
+import org.notiva.beatrush.util.Song;
+
+/**
+ * <h2>歌曲清單儲存格</h2>
+ * <p>
+ * 供 {@link javafx.scene.control.ListView} 使用的儲存格，每個儲存格只建立一張 {@link SongItemCard}，
+ * 捲動時由清單重複使用並改為顯示新的歌曲，因此卡片數量只與可見列數有關，與歌曲總數無關。
+ * </p>
+ *
+ * <p>使用範例：</p>
+ * <pre>{@code
+ * ListView<Song> songList = new ListView<>();
+ * songList.setCellFactory(list -> new SongListCell());
+ * songList.getItems().setAll(songs);
+ * }</pre>
+ */
+public class SongListCell extends ListCell<Song> {
+
+    /**
+     * 此儲存格重複使用的卡片
+     */
+    private final SongItemCard card = new SongItemCard();
+
+    /**
+     * 包裝卡片的 Group (讓縮放效果不影響排版)
+     */
+    private final Group cardGroup = card.wrapInGroup();
+
+    @Override
+    protected void updateItem(Song song, boolean empty) {
+        super.updateItem(song, empty);
+        if (empty || song == null) {
+            setGraphic(null);
+        } else {
+            card.setSong(song);
+            setGraphic(cardGroup);
+        }
+    }
+}
@@ -1,37 +1,52 @@
 package org.notiva.beatrush.component;
 
-import java.util.List;
+import java.util.Arrays;
 
 import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.scene.Node;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Line;
-import javafx.animation.Timeline;
 import org.notiva.beatrush.core.ResourceLoader;
 import org.notiva.beatrush.core.GameSetting;
 import org.notiva.beatrush.core.ScoreManager;
-import org.notiva.beatrush.util.JudgementLevel;
-import org.notiva.beatrush.util.Note;
+import org.notiva.beatrush.core.TrackJudge;
+import org.notiva.beatrush.util.GameSnapshot;
+import org.notiva.beatrush.util.NoteTable;
 import org.notiva.beatrush.util.Track;
 import org.notiva.beatrush.util.TrackLayout;
+import org.notiva.beatrush.util.TrackType;
 
 /**
  * <h2>音軌元件</h2>
+ * <p>
+ * 負責音符的出現與移除；判定交給 {@link TrackJudge}，實際的畫面繪製交給 {@link PlayfieldRenderer}，
+ * 繪製模式由 {@link GameSetting.Render#PLAYFIELD_MODE} 決定。
+ * </p>
+ *
+ * <p>
+ * 遊戲邏輯（{@link #update(double)}、{@link #hit(double)}、{@link #release(double)}、{@link #writeSnapshot(GameSnapshot)}）
+ * 在模擬執行緒上執行；畫面由 JavaFX Application Thread 依模擬執行緒發布的 {@link GameSnapshot} 繪製（{@link #render(GameSnapshot, double)}），
+ * 與上一次繪製的存活區間比對後，再通知繪製器音符的出現、開始按住、移除與漏接。
+ * 計分只看時間，但漏接的音符仍由繪製器畫到落出 {@link TrackLayout#endY} 為止。
+ * </p>
  */
 public class TrackView extends StackPane {
     /**
-     * 容納 {@code NoteView} 的容器
+     * 容納繪製內容的容器
      */
     @FXML
     private Pane notesBox;
 
     /**
-     * {@code NoteView} 下落耗費幀數
+     * 遊玩區繪製器
      */
-    private int cycles;
+    private final PlayfieldRenderer renderer;
+
+    /**
+     * 音軌判定器。
+     * 判定一律從最早出現的音符開始，因此存活音符為 {@link NoteTable} 中 [待判定開頭, track.getCurrentIndex()) 的連續區間。
+     */
+    private final TrackJudge judge;
 
     /**
      * 此 {@code TrackView} 的佈局尺寸點
@@ -44,26 +59,46 @@ public class TrackView extends StackPane {
     private Track track;
 
     /**
-     * 分數管理器
+     * 各音符是否判定為 Miss（以 {@link NoteTable} 索引為索引）。
+     * 由模擬執行緒在音符移出存活區間前寫入，繪製端只讀取快照中已移出存活區間的音符，寫入必定已隨快照可見。
      */
-    private final ScoreManager scoreManager = ScoreManager.getInstance();
+    private boolean[] missedNotes = new boolean[0];
+
+    // 上一次繪製時的存活區間 [renderedFromIndex, renderedToIndex) 與按住中的音符，只在 JavaFX Application Thread 上使用
+    private int renderedFromIndex = 0;
+    private int renderedToIndex = 0;
+    private int renderedHeldNote = -1;
 
     /**
      * 預設建構子，會載入對應的 FXML 版面。
      */
     public TrackView() {
         ResourceLoader.loadComponentView(this, "/view/component/TrackView.fxml");
-        // 創建節點
-        Line judgementLine = createJudgementLine();
+        renderer = createRenderer(notesBox);
+        // 判定在模擬執行緒上進行，繪製器改由快照同步，這裡只記錄漏接的音符
+        judge = new TrackJudge(ScoreManager.getInstance(), new TrackJudge.Listener() {
+            @Override
+            public void onHoldStarted(int noteIndex) {
+            }
+
+            @Override
+            public void onNoteMissed(int noteIndex) {
+                missedNotes[noteIndex] = true;
+            }
+
+            @Override
+            public void onNoteRemoved(int noteIndex) {
+            }
+        });
         Platform.runLater(() -> {
             // 父容器的相關尺寸點
             double topY = this.sceneToLocal(0, 0).getY();
             double bottomY = this.sceneToLocal(0, getScene().getHeight()).getY();
             trackLayout = new TrackLayout(topY, bottomY);
-            // 先算好 cycles
-            cycles = calculateCycles();
-            // 節點加入父容器 (根據相關尺寸點找到顯示位置)
-            addJudgementLine(judgementLine);
+            // 打擊時間 = 出現時間 + 下落到判定線的時間；漏接由判定器依時間判定，與音符位置無關
+            judge.setHitOffset(calculateDelayTimeMs());
+            // 繪製器初始化 (根據相關尺寸點找到顯示位置)
+            renderer.init(trackLayout, getWidth());
         });
     }
 
@@ -78,129 +113,141 @@ public class TrackView extends StackPane {
     }
 
     /**
-     * 更新音軌狀態，並根據時間產生新的音符。
+     * 依據遊戲設定建立遊玩區繪製器。
+     *
+     * @param notesBox 容納繪製內容的容器。
+     * @return 遊玩區繪製器。
+     */
+    private static PlayfieldRenderer createRenderer(Pane notesBox) {
+        return switch (GameSetting.Render.PLAYFIELD_MODE) {
+            case SCENE_GRAPH -> new NodePlayfieldRenderer(notesBox);
+            case CANVAS -> new CanvasPlayfieldRenderer(notesBox);
+        };
+    }
+
+    /**
+     * 遊戲開始前預熱繪製器，避免遊戲中途才建立繪製所需的資源。
+     */
+    public void warmUp() {
+        renderer.warmUp();
+    }
+
+    /**
+     * 更新音軌狀態：加入所有出現時間已到的音符，並推進判定（長按計分與漏接）。在模擬執行緒上呼叫。
+     * 一次更新可以加入多個音符，因此更新延遲或音符間隔比更新間隔還短時，音符也不會累積落後；
+     * 音符位置由繪製器依出現時間與遊戲時間計算，晚加入的音符會直接畫在它此刻應在的位置。
      *
      * @param elapsedMillis 已經過的遊戲時間（ms）。
      */
     public void update(double elapsedMillis) {
-        if (!track.isFinished()) {
-            Note note = track.getCurrentNote();
-            if (note.getTimestamp() <= elapsedMillis) {
-                addNoteView(new NoteView());
-                track.next();
-            }
+        while (!track.isFinished() && track.getCurrentTimestamp() <= elapsedMillis) {
+            judge.spawn(track.getCurrentIndex());
+            track.next();
         }
+        judge.update(elapsedMillis);
     }
 
     /**
-     * 移除最接近判定線的音符並進行評分。
+     * 將目前的存活區間與按住中的音符寫入快照。在模擬執行緒上呼叫。
+     *
+     * @param snapshot 要寫入的快照。
      */
-    public void removeClosestNote() {
-        NoteView closestNote = findClosestNoteToJudgementLine();
-        if (closestNote != null) {
-            // 進入計分線
-            if (closestNote.getLayoutY() > trackLayout.scoringWindowStartY) {
-                // 計分並移除
-                double timeDiff = closestNote.calculateTimeDiff(trackLayout.judgementLineY);
-                JudgementLevel judgeResult = scoreManager.calculateJudgement(timeDiff);
-                scoreManager.addScore(judgeResult);
-                notesBox.getChildren().remove(closestNote);
-            }
-        }
+    public void writeSnapshot(GameSnapshot snapshot) {
+        snapshot.setTrack(track.getTrackType(), getFirstLiveIndex(), track.getCurrentIndex(), judge.getHeldNote());
     }
 
     /**
-     * 找出目前最接近判定線的 {@link NoteView}。
+     * 依快照繪製此音軌：先依出現順序移除已判定的音符（漏接的音符交給繪製器繼續落下），
+     * 再加入新出現的音符與開始按住的長按音符，最後重新繪製所有存活音符。
+     * 兩次繪製之間出現又被判定的音符不會被畫出。在 JavaFX Application Thread 上每個 pulse 呼叫一次。
      *
-     * @return 最接近判定線的音符視圖；若無則為 {@code null}。
-     */
-    private NoteView findClosestNoteToJudgementLine() {
-        List<Node> children = notesBox.getChildren();
-        NoteView closestNote = null;
-        double minDistance = Double.MAX_VALUE;
-        for (Node child : children) {
-            if (child instanceof NoteView noteView) {
-                double distance = trackLayout.judgementLineY - noteView.getLayoutY();
-                if (distance < minDistance) {
-                    minDistance = distance;
-                    closestNote = noteView;
-                }
+     * @param snapshot      模擬執行緒發布的快照。
+     * @param elapsedMillis 這一幀的遊戲時間（ms），用於計算音符位置。
+     */
+    public void render(GameSnapshot snapshot, double elapsedMillis) {
+        TrackType trackType = track.getTrackType();
+        NoteTable noteTable = track.getNoteTable();
+        int fromIndex = snapshot.getFirstLiveIndex(trackType);
+        int toIndex = snapshot.getSpawnIndex(trackType);
+        for (int i = renderedFromIndex; i < Math.min(fromIndex, renderedToIndex); i++) {
+            if (missedNotes[i]) {
+                renderer.onNoteMissed(i);
+            } else {
+                renderer.onNoteRemoved(i);
             }
         }
-        return closestNote;
+        for (int i = Math.max(fromIndex, renderedToIndex); i < toIndex; i++) {
+            renderer.onNoteSpawned(noteTable, i);
+        }
+        renderedFromIndex = fromIndex;
+        renderedToIndex = toIndex;
+        int heldNote = snapshot.getHeldNote(trackType);
+        if (heldNote >= 0 && heldNote != renderedHeldNote) {
+            renderer.onHoldStarted(heldNote);
+        }
+        renderedHeldNote = heldNote;
+        renderer.render(noteTable, fromIndex, toIndex, elapsedMillis);
     }
 
     /**
-     * 根據畫面高度與掉落速度計算音符掉落所需的幀數。
+     * 重置音軌：清除畫面上殘留的音符，並將音軌游標移回開頭（使用者有可能 replay）。
+     * 只能在模擬執行緒停止時呼叫。
+     */
+    public void reset() {
+        renderer.clear();
+        judge.reset();
+        Arrays.fill(missedNotes, false);
+        track.reset();
+        renderedFromIndex = 0;
+        renderedToIndex = 0;
+        renderedHeldNote = -1;
+    }
+
+    /**
+     * 以指定的遊戲時間打擊此音軌，判定最早該被打擊的音符。
+     * 只比對譜面時間戳與遊戲時間，不依賴音符目前被畫在哪裡。
      *
-     * @return 動畫幀數。
+     * @param hitMillis 按鍵當下的遊戲時間（ms）。
      */
-    private int calculateCycles() {
-        double livingY = trackLayout.endY - trackLayout.startY;
-        return (int) (livingY / GameSetting.ObjectMotion.FALL_DOWN_Y_PER_FRAME);
+    public void hit(double hitMillis) {
+        judge.hit(hitMillis);
     }
 
     /**
-     * 計算音符從頂端到判定線所需的延遲時間（ms）。
+     * 以指定的遊戲時間放開此音軌，結束按住中的長按音符。
      *
-     * @return 下落延遲時間（ms）。
+     * @param releaseMillis 放開當下的遊戲時間（ms）。
      */
-    public double calculateDelayTimeMs() {
-        double delayY = trackLayout.judgementLineY - trackLayout.startY;
-        return delayY / GameSetting.ObjectMotion.FALL_DOWN_Y_PER_MS;
+    public void release(double releaseMillis) {
+        judge.release(releaseMillis);
     }
 
     /**
-     * 將判定線加入至音軌元件中。
+     * 取得畫面上最早出現、仍存活的音符索引。
      *
-     * @param line 判定線物件。
+     * @return 音符索引；若沒有存活音符則為 track.getCurrentIndex()。
      */
-    private void addJudgementLine(Line line) {
-        // 設定 judgementLine Y 位置
-        line.setStartX(15);
-        line.setStartY(trackLayout.judgementLineY);
-        line.setEndX(getWidth() - 15);
-        line.setEndY(trackLayout.judgementLineY);
-        // 加入父容器
-        notesBox.getChildren().add(line);
+    private int getFirstLiveIndex() {
+        return judge.hasPending() ? judge.peekPending() : track.getCurrentIndex();
     }
 
     /**
-     * 建立一條新的判定線物件。
+     * 計算音符從頂端到判定線所需的延遲時間（ms）。
      *
-     * @return 判定線。
+     * @return 下落延遲時間（ms）。
      */
-    private Line createJudgementLine() {
-        Line line = new Line();
-        line.setStroke(Color.WHITE);
-        line.setStrokeWidth(15);
-        line.setOpacity(0.5);
-        return line;
+    public double calculateDelayTimeMs() {
+        double delayY = trackLayout.judgementLineY - trackLayout.startY;
+        return delayY / GameSetting.ObjectMotion.FALL_DOWN_Y_PER_MS;
     }
 
     /**
-     * 將新的 {@link NoteView} 加入音軌元件並啟動其動畫。
+     * 取得遊玩區繪製器。
      *
-     * @param noteView 音符元件。
-     */
-    private void addNoteView(NoteView noteView) {
-        // 設定 noteView Y 位置
-        noteView.setLayoutY(trackLayout.startY);
-        // 加入父容器
-        notesBox.getChildren().add(noteView);
-        // 動畫
-        Timeline fallingAnimation = noteView.createFallingAnimation(cycles);
-        // 動畫完成時，移除父容器中的此 NoteView
-        fallingAnimation.setOnFinished(e -> {
-            if (notesBox.getChildren().contains(noteView)) {
-                double timeDiff = noteView.calculateTimeDiff(trackLayout.judgementLineY);
-                JudgementLevel judgeResult = scoreManager.calculateJudgement(timeDiff);
-                scoreManager.addScore(judgeResult);
-                notesBox.getChildren().remove(noteView);
-            }
-        });
-        // 動畫開始
-        fallingAnimation.play();
+     * @return {@link PlayfieldRenderer} 物件。
+     */
+    public PlayfieldRenderer getRenderer() {
+        return renderer;
     }
 
     /**
@@ -229,5 +276,7 @@ public class TrackView extends StackPane {
      */
     public void setTrack(Track track) {
         this.track = track;
+        judge.setNoteTable(track.getNoteTable());
+        missedNotes = new boolean[track.getNoteTable().size()];
     }
-}
\ No newline at end of file
+}
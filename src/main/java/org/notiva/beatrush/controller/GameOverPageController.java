@@ -7,9 +7,10 @@ import javafx.scene.input.MouseEvent;
 import org.notiva.beatrush.component.GlowingBorderButton;
 import org.notiva.beatrush.component.MaskLayer;
 import org.notiva.beatrush.core.MediaManager;
+import org.notiva.beatrush.core.PageLifecycle;
 import org.notiva.beatrush.core.StageManager;
 
-public class GameOverPageController {
+public class GameOverPageController implements PageLifecycle {
     public GlowingBorderButton continueButton, replayButton;
     public MaskLayer maskLayer;
 
@@ -17,7 +18,6 @@ public class GameOverPageController {
 
     @FXML
     public void initialize() {
-        maskLayer.show();
         continueButton.addEventHandler(MouseEvent.MOUSE_ENTERED, e -> maskLayer.hide());
         continueButton.addEventHandler(MouseEvent.MOUSE_EXITED, e -> maskLayer.show());
         replayButton.addEventHandler(MouseEvent.MOUSE_ENTERED, e -> maskLayer.hide());
@@ -25,4 +25,9 @@ public class GameOverPageController {
         continueButton.setOnAction(e -> stageManager.showStage("BeatRush", "/view/page/SongSelectPage.fxml"));
         replayButton.setOnAction(e -> stageManager.showStage("BeatRush", "/view/page/RhythmGamePage.fxml"));
     }
+
+    @Override
+    public void onShow() {
+        maskLayer.show();
+    }
 }
@@ -11,13 +11,14 @@ import javafx.scene.layout.HBox;
 import javafx.util.Duration;
 import org.notiva.beatrush.component.TrackView;
 import org.notiva.beatrush.core.MediaManager;
+import org.notiva.beatrush.core.PageLifecycle;
 import org.notiva.beatrush.core.RhythmGameManager;
 import org.notiva.beatrush.core.ScoreManager;
 import org.notiva.beatrush.core.StageManager;
 import org.notiva.beatrush.util.Score;
 import org.notiva.beatrush.util.TrackType;
 
-public class RhythmGamePageController {
+public class RhythmGamePageController implements PageLifecycle {
     @FXML
     private HBox trackSection;
     @FXML
@@ -35,32 +36,47 @@ public class RhythmGamePageController {
 
     @FXML
     protected void initialize() {
+        // 綁定屬性
+        bindProperty();
+        // 動畫初始化
+        initJudgementLevelTextAnimation();
+        // 設置鍵盤焦點和事件監聽
+        setupKeyboardListener();
+    }
+
+    @Override
+    public void onShow() {
         // 停止 BGM
         mediaManager.bgmFadeOut();
-        // 音軌初始化
+        // 音軌初始化 (換歌後為新的音軌元件)
         Map<TrackType, TrackView> trackViewMap = rhythmGameManager.getTrackViewMap();
         for (TrackView trackView : trackViewMap.values()) {
-            trackView.getTrack().reset(); // 重置 (使用者有可能 replay)
-            trackSection.getChildren().add(trackView);
+            trackView.reset(); // 重置 (使用者有可能 replay)
         }
+        trackSection.getChildren().setAll(trackViewMap.values());
         // 分數重置
         scoreManager.reset();
+        judgementLevelText.setOpacity(0);
         // 開始遊戲
         rhythmGameManager.start();
-        // 結束遊戲後，跳轉到 ScorePage
+        // 結束遊戲後，跳轉到 ScorePage (Game Over 時會清除 end hook，因此每次重新註冊)
+        rhythmGameManager.clearEndHooks();
         rhythmGameManager.registerEndHook(
                 () -> stageManager.showStage("BeatRush", "/view/page/ScorePage.fxml")
         );
-        // 綁定屬性
-        bindProperty();
-        // 動畫初始化
-        initJudgementLevelTextAnimation();
-        // 設置鍵盤焦點和事件監聽
-        setupKeyboardListener();
+        trackSection.requestFocus();
+    }
+
+    @Override
+    public void onHide() {
+        // 移除音軌元件，換歌後舊的元件即可回收
+        trackSection.getChildren().clear();
+        fadeOut.stop();
+        scaleUp.stop();
     }
 
     private void bindProperty() {
-        scoreText.textProperty().bind(scoreManager.getCurrentScore().totalScoreProperty().asString());
+        scoreText.textProperty().bind(scoreManager.totalScoreProperty().asString());
         judgementLevelText.textProperty().bind(scoreManager.currentJudgementTextProperty());
     }
 
@@ -81,8 +97,10 @@ public class RhythmGamePageController {
         scaleUp.setAutoReverse(true);
         scaleUp.setOnFinished(e -> fadeOut.play());
 
-        judgementLevelText.textProperty().addListener((obs, oldText, newText) -> {
-            if (newText == null || newText.isEmpty()) return;
+        // 每次評分都播放動畫 (相同評分連續出現時文字不變，因此監聽評分次數)
+        scoreManager.judgementSerialProperty().addListener((obs, oldSerial, newSerial) -> {
+            String text = judgementLevelText.getText();
+            if (newSerial.longValue() == 0 || text == null || text.isEmpty()) return;
             judgementLevelText.setOpacity(1.0);
             judgementLevelText.setScaleX(1.0);
             judgementLevelText.setScaleY(1.0);
@@ -97,14 +115,25 @@ public class RhythmGamePageController {
         trackSection.setFocusTraversable(true);
         // 當點擊遊戲區域時請求焦點
         trackSection.setOnMouseClicked(e -> trackSection.requestFocus());
-        // 添加鍵盤按下事件監聽器
-        trackSection.setOnKeyPressed((KeyEvent event) -> {
+        // 以 event filter 在捕獲階段就接收鍵盤按下事件，盡早打上時間戳
+        trackSection.addEventFilter(KeyEvent.KEY_PRESSED, (KeyEvent event) -> {
             // 將鍵盤事件傳遞給 rhythmGameManager 處理
-            rhythmGameManager.handleKeyPressed(event);
-            // 吸收事件防止傳播
-            event.consume();
+            if (rhythmGameManager.handleKeyPressed(event)) {
+                // 吸收事件防止傳播
+                event.consume();
+            }
+        });
+        // 放開事件用於長按音符
+        trackSection.addEventFilter(KeyEvent.KEY_RELEASED, (KeyEvent event) -> {
+            if (rhythmGameManager.handleKeyReleased(event)) {
+                event.consume();
+            }
+        });
+        // 失去焦點 (包含視窗失去焦點) 後收不到放開事件，放開所有按住中的音軌
+        trackSection.focusedProperty().addListener((obs, wasFocused, isFocused) -> {
+            if (!isFocused) {
+                rhythmGameManager.handleFocusLost();
+            }
         });
-        // 初始化時請求焦點
-        trackSection.requestFocus();
     }
 }
\ No newline at end of file
@@ -6,10 +6,11 @@ import javafx.scene.effect.BoxBlur;
 import javafx.scene.layout.AnchorPane;
 import org.notiva.beatrush.component.ScoreBanner;
 import org.notiva.beatrush.core.MediaManager;
+import org.notiva.beatrush.core.PageLifecycle;
 import org.notiva.beatrush.core.ScoreManager;
 import org.notiva.beatrush.core.StageManager;
 
-public class ScorePageController {
+public class ScorePageController implements PageLifecycle {
     @FXML
     private AnchorPane vaporwaveBackground;
     @FXML
@@ -25,14 +26,18 @@ public class ScorePageController {
 
     @FXML
     protected void initialize() {
-        // BGM 重新播放
-        mediaManager.bgmFadeIn();
         // 毛玻璃效果
         BoxBlur frostedGlassEffect = new BoxBlur(20, 20, 2);
         vaporwaveBackground.setEffect(frostedGlassEffect);
         // 按鈕
         continueButton.setOnAction(e -> stageManager.showStage("BeatRush", "/view/page/SongSelectPage.fxml"));
         replayButton.setOnAction(e -> stageManager.showStage("BeatRush", "/view/page/RhythmGamePage.fxml"));
+    }
+
+    @Override
+    public void onShow() {
+        // BGM 重新播放
+        mediaManager.bgmFadeIn();
         // 分數
         scoreBanner.setScore(scoreManager.getCurrentScore());
     }
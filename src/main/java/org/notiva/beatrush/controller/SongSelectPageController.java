@@ -1,59 +1,123 @@
 package org.notiva.beatrush.controller;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.scene.Group;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.ListView;
 import javafx.scene.layout.StackPane;
-import javafx.scene.layout.VBox;
 import org.notiva.beatrush.component.MaskLayer;
-import org.notiva.beatrush.component.SongItemCard;
-import org.notiva.beatrush.core.ResourceLoader;
+import org.notiva.beatrush.component.SongListCell;
+import org.notiva.beatrush.core.MetadataIndex;
+import org.notiva.beatrush.core.PageLifecycle;
 import org.notiva.beatrush.core.RhythmGameManager;
+import org.notiva.beatrush.core.ScoreManager;
+import org.notiva.beatrush.core.SongPreloader;
 import org.notiva.beatrush.core.StageManager;
 import org.notiva.beatrush.event.SongSelectedEvent;
+import org.notiva.beatrush.util.JudgementProfile;
 import org.notiva.beatrush.util.Song;
 
-public class SongSelectPageController {
+public class SongSelectPageController implements PageLifecycle {
+
+    /**
+     * 清單每列的高度 (卡片高度加上上下間距)
+     */
+    private static final double SONG_CELL_HEIGHT = 180.0;
 
     @FXML
     private StackPane root;
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox allSongList;
+    private ListView<Song> allSongList;
     @FXML
-    private VBox favoriteSongList;
+    private ListView<Song> favoriteSongList;
     @FXML
     private MaskLayer maskLayer;
+    @FXML
+    private ChoiceBox<JudgementProfile> difficultyChoice;
 
     private final StageManager stageManager = StageManager.getInstance();
     private final RhythmGameManager rhythmGameManager = RhythmGameManager.getInstance();
+    private final ScoreManager scoreManager = ScoreManager.getInstance();
+    private final SongPreloader songPreloader = SongPreloader.getInstance();
+    private final MetadataIndex metadataIndex = MetadataIndex.getInstance();
+
+    /**
+     * 是否有選擇的歌曲正在等待載入 (只在 JavaFX Application Thread 上存取)
+     */
+    private boolean songLoading = false;
 
     @FXML
     protected void initialize() {
-        // 開啟頁面時，應滾動到最上面
-        Platform.runLater(() -> scrollPane.setVvalue(0));
         // root 監聽 MaskLayerShowEvent 和 MaskLayerHideEvent，
         maskLayer.addEventHandlersFor(root);
         // root 監聽 SongSelectedEvent
         root.addEventHandler(SongSelectedEvent.SONG_SELECTED, e -> {
-            rhythmGameManager.setCurrentSong(e.getSong());
-            stageManager.showStage("BeatRush", "/view/page/RhythmGamePage.fxml");
+            // 已有歌曲在等待載入時，忽略重複的選擇
+            if (songLoading) {
+                return;
+            }
+            songLoading = true;
+            // 等背景預載完成 (通常在停留卡片時就已開始) 後再切換頁面，不阻塞 UI 執行緒
+            songPreloader.preload(e.getSong()).whenCompleteAsync((bundle, error) -> {
+                songLoading = false;
+                // 載入失敗時留在選歌頁面，預載器已移除失敗的結果，可再次選擇重試
+                if (error != null) {
+                    System.err.println("Failed to load song: " + e.getSong().getSongName() + " - " + error.getMessage());
+                    return;
+                }
+                // 遊戲開始前套用選擇的難度
+                scoreManager.setJudgementProfile(difficultyChoice.getValue());
+                rhythmGameManager.setSongBundle(bundle);
+                stageManager.showStage("BeatRush", "/view/page/RhythmGamePage.fxml");
+            }, Platform::runLater);
         });
-        // 新增歌曲
-        addSongs();
+        // 難度選單，預設為目前使用的判定區間
+        difficultyChoice.getItems().setAll(JudgementProfile.values());
+        difficultyChoice.setValue(scoreManager.getJudgementTable().getProfile());
+        difficultyChoice.setFocusTraversable(false);
+        // 歌曲清單只為可見的列建立卡片
+        initSongList(allSongList);
+        initSongList(favoriteSongList);
+        // 先以索引立即顯示歌曲
+        allSongList.getItems().setAll(metadataIndex.getSongs());
+    }
+
+    @Override
+    public void onShow() {
+        // 回到選歌頁面即離開上一首歌，釋放其音樂播放器
+        rhythmGameManager.leaveSong();
+        // 開啟頁面時，應滾動到最上面
+        Platform.runLater(() -> allSongList.scrollTo(0));
+        // 背景重新掃描譜面
+        refreshSongs();
+    }
+
+    /**
+     * 初始化歌曲清單：以固定列高的虛擬化清單顯示，捲動時重複使用卡片。
+     *
+     * @param songList 歌曲清單
+     */
+    private void initSongList(ListView<Song> songList) {
+        songList.setCellFactory(list -> new SongListCell());
+        songList.setFixedCellSize(SONG_CELL_HEIGHT);
+        songList.setFocusTraversable(false);
     }
 
-    private void addSongs() {
-        List<Group> cards = ResourceLoader.loadAllMetadata()
-                .stream()
-                .map(song -> SongItemCard.createFromSong(song, true))
-                .map(SongItemCard::wrapInGroup)
-                .toList();
-        allSongList.getChildren().addAll(cards);
+    /**
+     * 在背景重新掃描譜面，有新增、刪除或修改的譜面時才更新清單。
+     */
+    private void refreshSongs() {
+        CompletableFuture.supplyAsync(metadataIndex::refresh)
+                .thenAcceptAsync(changed -> {
+                    if (changed) {
+                        allSongList.getItems().setAll(metadataIndex.getSongs());
+                    }
+                }, Platform::runLater)
+                .exceptionally(e -> {
+                    System.err.println("Failed to refresh song list - " + e.getMessage());
+                    return null;
+                });
     }
 }
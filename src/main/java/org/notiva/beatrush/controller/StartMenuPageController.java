@@ -7,10 +7,11 @@ import org.notiva.beatrush.component.GlowingBorderButton;
 import org.notiva.beatrush.component.MaskLayer;
 import org.notiva.beatrush.core.MediaManager;
 import org.notiva.beatrush.core.GameSetting;
+import org.notiva.beatrush.core.PageLifecycle;
 import org.notiva.beatrush.core.StageManager;
 
 
-public class StartMenuPageController {
+public class StartMenuPageController implements PageLifecycle {
     @FXML
     private MaskLayer maskLayer;
     @FXML
@@ -21,7 +22,6 @@ public class StartMenuPageController {
 
     @FXML
     protected void initialize() {
-        maskLayer.show();
         startButton.addEventHandler(MouseEvent.MOUSE_ENTERED, e -> {
             maskLayer.hide();
             if (mediaManager.getBgmPlayer().getStatus() == MediaPlayer.Status.READY) {
@@ -30,6 +30,11 @@ public class StartMenuPageController {
         });
     }
 
+    @Override
+    public void onShow() {
+        maskLayer.show();
+    }
+
     @FXML
     protected void onStartButtonClick() {
         stageManager.showStage("BeatRush", "/view/page/SongSelectPage.fxml");
@@ -0,0 +1,268 @@
+package org.notiva.beatrush.core;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import javafx.util.Duration;
+import org.notiva.beatrush.util.Chart;
+import org.notiva.beatrush.util.NoteTable;
+import org.notiva.beatrush.util.NoteType;
+import org.notiva.beatrush.util.Song;
+import org.notiva.beatrush.util.TrackType;
+
+/**
+ * <h2>二進位譜面</h2>
+ * <p>
+ * 由 JSON 譜面預先編譯而成的緊湊格式，以 memory-mapped {@link FileChannel} 載入，
+ * 不需建立任何 JSON 樹。編譯後的檔案與 JSON 譜面放在同一目錄，副檔名為 {@code .bchart}。
+ * </p>
+ *
+ * <h5>檔案格式（big-endian）</h5>
+ * <pre>
+ * int     magic          "BRCH"
+ * int     version
+ * string  songName       (short 長度 + UTF-8 位元組，長度 -1 代表 null)
+ * string  songAuthor
+ * string  songImagePath
+ * double  songLengthMs   (負值代表未知)
+ * int     noteCount
+ * note[noteCount]        每筆 18 bytes：
+ *     byte   trackType   ({@link TrackType} ordinal)
+ *     byte   noteType    ({@link NoteType} ordinal)
+ *     double timestamp   (ms)
+ *     double duration    (ms)
+ * </pre>
+ *
+ * <p>可執行 {@code ./gradlew compileCharts} 一次編譯 {@code assets/chart/} 下所有譜面；
+ * 遊戲載入時若二進位譜面不存在或比 JSON 舊，也會自動重新編譯。</p>
+ */
+public final class BinaryChart {
+
+    /**
+     * 二進位譜面副檔名
+     */
+    public static final String EXTENSION = ".bchart";
+
+    private static final int MAGIC = 0x42524348; // "BRCH"
+    private static final int VERSION = 1;
+    private static final int NOTE_RECORD_BYTES = 1 + 1 + Double.BYTES + Double.BYTES;
+
+    private static final TrackType[] TRACK_TYPES = TrackType.values();
+    private static final NoteType[] NOTE_TYPES = NoteType.values();
+
+    private BinaryChart() {
+    }
+
+    /**
+     * 取得 JSON 譜面對應的二進位譜面路徑。
+     *
+     * @param jsonPath JSON 譜面路徑
+     * @return 二進位譜面路徑
+     */
+    public static Path toBinaryPath(Path jsonPath) {
+        String fileName = jsonPath.getFileName().toString();
+        String baseName = fileName.substring(0, fileName.lastIndexOf('.'));
+        return jsonPath.resolveSibling(baseName + EXTENSION);
+    }
+
+    /**
+     * 檢查二進位譜面是否存在且不比 JSON 譜面舊。
+     *
+     * @param jsonPath JSON 譜面路徑
+     * @return 二進位譜面可直接使用時為 true
+     */
+    public static boolean isUpToDate(Path jsonPath) {
+        Path binaryPath = toBinaryPath(jsonPath);
+        try {
+            if (!Files.isRegularFile(binaryPath)) {
+                return false;
+            }
+            if (!Files.exists(jsonPath)) {
+                return true;
+            }
+            return Files.getLastModifiedTime(binaryPath).compareTo(Files.getLastModifiedTime(jsonPath)) >= 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 將譜面寫成二進位格式（先寫入暫存檔再取代，避免留下寫到一半的檔案）。
+     * 音符依音軌分組、組內依時間排序寫出，讀回時可跳過排序。
+     *
+     * @param chart      譜面
+     * @param binaryPath 輸出路徑
+     * @throws RuntimeException 寫入失敗
+     */
+    public static void write(Chart chart, Path binaryPath) {
+        Path tempPath = binaryPath.resolveSibling(binaryPath.getFileName() + ".tmp");
+        Song song = chart.getSong();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeString(out, song.getSongName());
+            writeString(out, song.getSongAuthor());
+            writeString(out, song.getSongImagePath());
+            Duration songLength = song.getSongLength();
+            out.writeDouble(songLength == null || songLength.isUnknown() ? -1 : songLength.toMillis());
+            out.writeInt(chart.getNoteCount());
+            for (Map.Entry<TrackType, NoteTable> entry : chart.getNoteTables().entrySet()) {
+                NoteTable noteTable = entry.getValue();
+                for (int i = 0; i < noteTable.size(); i++) {
+                    out.writeByte(entry.getKey().ordinal());
+                    out.writeByte(noteTable.getNoteType(i).ordinal());
+                    out.writeDouble(noteTable.getTimestamp(i));
+                    out.writeDouble(noteTable.getDuration(i));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write binary chart: " + binaryPath, e);
+        }
+        try {
+            Files.move(tempPath, binaryPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write binary chart: " + binaryPath, e);
+        }
+    }
+
+    /**
+     * 讀取二進位譜面的 metadata（只讀檔頭）。
+     *
+     * @param binaryPath 二進位譜面路徑
+     * @return 對應的 {@link Song}
+     * @throws RuntimeException 讀取失敗或格式不符
+     */
+    public static Song readMetadata(Path binaryPath) {
+        ByteBuffer buffer = map(binaryPath);
+        return readHeader(buffer, binaryPath);
+    }
+
+    /**
+     * 讀取完整的二進位譜面。
+     *
+     * @param binaryPath 二進位譜面路徑
+     * @return 對應的 {@link Chart}
+     * @throws RuntimeException 讀取失敗或格式不符
+     */
+    public static Chart readChart(Path binaryPath) {
+        long startNanos = System.nanoTime();
+        ByteBuffer buffer = map(binaryPath);
+        Song song = readHeader(buffer, binaryPath);
+        int noteCount = buffer.getInt();
+        if (noteCount < 0 || buffer.remaining() < (long) noteCount * NOTE_RECORD_BYTES) {
+            throw new RuntimeException("Corrupted binary chart: " + binaryPath);
+        }
+        Map<TrackType, NoteTable.Builder> builders = new EnumMap<>(TrackType.class);
+        for (TrackType type : TRACK_TYPES) {
+            builders.put(type, new NoteTable.Builder());
+        }
+        for (int i = 0; i < noteCount; i++) {
+            TrackType trackType = TRACK_TYPES[buffer.get()];
+            NoteType noteType = NOTE_TYPES[buffer.get()];
+            double timestamp = buffer.getDouble();
+            double duration = buffer.getDouble();
+            builders.get(trackType).add(timestamp, duration, noteType);
+        }
+        Map<TrackType, NoteTable> noteTables = new EnumMap<>(TrackType.class);
+        for (Map.Entry<TrackType, NoteTable.Builder> entry : builders.entrySet()) {
+            noteTables.put(entry.getKey(), entry.getValue().build());
+        }
+        double loadMillis = (System.nanoTime() - startNanos) / 1_000_000.0;
+        return new Chart(song, noteTables, loadMillis);
+    }
+
+    /**
+     * 以唯讀方式將整個檔案映射到記憶體。
+     *
+     * @param binaryPath 二進位譜面路徑
+     * @return 映射後的緩衝區
+     */
+    private static MappedByteBuffer map(Path binaryPath) {
+        try (FileChannel channel = FileChannel.open(binaryPath, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read binary chart: " + binaryPath, e);
+        }
+    }
+
+    /**
+     * 讀取並驗證檔頭，讀完後緩衝區位置停在 noteCount 之前。
+     *
+     * @param buffer     緩衝區
+     * @param binaryPath 二進位譜面路徑（錯誤訊息用）
+     * @return 檔頭中的 metadata
+     */
+    private static Song readHeader(ByteBuffer buffer, Path binaryPath) {
+        if (buffer.remaining() < Integer.BYTES * 2 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new RuntimeException("Unsupported binary chart: " + binaryPath);
+        }
+        Song song = new Song();
+        song.setSongName(readString(buffer));
+        song.setSongAuthor(readString(buffer));
+        song.setSongImagePath(readString(buffer));
+        double songLengthMs = buffer.getDouble();
+        song.setSongLength(songLengthMs < 0 ? null : Duration.millis(songLengthMs));
+        return song;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 編譯 {@code assets/chart/} 下所有 JSON 譜面為二進位譜面。
+     *
+     * @param args 未使用
+     */
+    public static void main(String[] args) {
+        Path chartDir = Paths.get(ResourceLoader.CHART_DIR);
+        try (Stream<Path> files = Files.walk(chartDir)) {
+            List<Path> jsonFiles = files
+                    .filter(Files::isRegularFile)
+                    .filter(path -> path.toString().endsWith(".json"))
+                    .toList();
+            for (Path jsonPath : jsonFiles) {
+                String fileName = jsonPath.getFileName().toString();
+                String songName = fileName.substring(0, fileName.lastIndexOf('.'));
+                try {
+                    ResourceLoader.compileChart(songName);
+                    System.out.println("Compiled chart: " + songName);
+                } catch (Exception e) {
+                    System.err.println("Failed to compile chart: " + songName + " - " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to scan directory: " + chartDir, e);
+        }
+    }
+}
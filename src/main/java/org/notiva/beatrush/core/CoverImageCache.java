@@ -0,0 +1,342 @@
+package org.notiva.beatrush.core;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.geometry.Dimension2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.notiva.beatrush.util.Misc;
+import org.notiva.beatrush.util.ResourceCache;
+
+/**
+ * <h2>歌曲封面快取</h2>
+ * <p>
+ * 歌曲卡片與歌曲資訊彈窗共用的封面圖片快取。封面一律在背景解碼，
+ * 並直接縮小到剛好填滿顯示區域的大小（顯示區域長寬依 {@link GameSetting.Cover#SIZE_STEP} 向上取整，
+ * 讓相近的請求共用同一張圖），不會在 JavaFX Application Thread 上解碼原始尺寸的圖片。
+ * </p>
+ *
+ * <p>
+ * 封面以屬性的形式取得：查詢縮圖、讀取來源檔案大小與圖檔標頭都在背景執行緒上進行，
+ * 完成前屬性值為 {@code null}，之後才設為背景載入中的圖片，JavaFX Application Thread 不做任何檔案 I/O。
+ * </p>
+ *
+ * <p>
+ * 封面以置中裁切（cover）方式顯示，因此解碼前會先讀取來源圖檔標頭取得原始長寬，
+ * 只指定會先碰到顯示區域邊界的那一邊，讓較短的一邊也不小於顯示區域；讀不到標頭時以原始尺寸解碼。
+ * 載入失敗的封面會從快取移除，下次請求時重新載入。
+ * </p>
+ *
+ * <p>
+ * 本機封面縮小後會以 PNG 存到 {@link GameSetting.Cover#THUMBNAIL_DIR}，之後直接載入縮圖；
+ * 縮圖檔名包含來源路徑、來源檔案大小與顯示區域大小，來源替換後會自動重建。
+ * 記憶體中的封面以 {@link ResourceCache} 依像素大小限制總量：載入完成前以顯示區域估計，完成後改以解碼後的實際大小計算。
+ * </p>
+ *
+ * <p>使用範例：</p>
+ * <pre>{@code
+ * imageView.imageProperty().bind(CoverImageCache.getInstance().getCover("/image/song/default.png", 320, 180));
+ * }</pre>
+ */
+public class CoverImageCache {
+
+    private final ResourceCache<String, ReadOnlyObjectWrapper<Image>> cache = new ResourceCache<>(
+            "cover", GameSetting.Cover.CACHE_MAX_BYTES, this::load, CoverImageCache::weigh);
+
+    /**
+     * 查詢、讀取與寫入縮圖用的背景執行緒
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static class Holder {
+        private static final CoverImageCache INSTANCE = new CoverImageCache();
+    }
+
+    /**
+     * 取得 {@link CoverImageCache} 的唯一實例。
+     *
+     * @return 全域唯一的 {@link CoverImageCache} 實例。
+     */
+    public static CoverImageCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private CoverImageCache() {
+    }
+
+    /**
+     * 取得封面圖片屬性，必須在 JavaFX Application Thread 上呼叫。
+     * 背景查詢完成前屬性值為 {@code null}；之後為背景載入中的圖片（長寬為 0，載入完成後才會更新）。
+     *
+     * @param path       封面路徑（URL、內部資源路徑、外部路徑）。
+     * @param viewWidth  顯示區域寬度（px）。
+     * @param viewHeight 顯示區域高度（px）。
+     * @return 封面圖片屬性，圖片置中裁切後可填滿顯示區域；資源找不到時維持 {@code null}。
+     */
+    public ReadOnlyObjectProperty<Image> getCover(String path, double viewWidth, double viewHeight) {
+        return cache.get(roundUp(viewWidth) + "x" + roundUp(viewHeight) + "@" + path).getReadOnlyProperty();
+    }
+
+    /**
+     * 將顯示區域邊長依 {@link GameSetting.Cover#SIZE_STEP} 向上取整。
+     *
+     * @param length 邊長（px）。
+     * @return 取整後的邊長。
+     */
+    private static int roundUp(double length) {
+        int step = GameSetting.Cover.SIZE_STEP;
+        return Math.max(1, (int) Math.ceil(length / step)) * step;
+    }
+
+    /**
+     * 建立封面屬性，並在背景決定封面的載入方式。
+     *
+     * @param key 快取鍵（寬x高@路徑）。
+     * @return 尚未有圖片的封面屬性。
+     */
+    private ReadOnlyObjectWrapper<Image> load(String key) {
+        ReadOnlyObjectWrapper<Image> cover = new ReadOnlyObjectWrapper<>();
+        executor.execute(() -> {
+            try {
+                resolve(key, cover);
+            } catch (RuntimeException e) {
+                System.err.println("Failed to load cover: " + key + " - " + e.getMessage());
+                // 排在 JavaFX Application Thread 上，確保封面已放入快取後才移除
+                Platform.runLater(() -> onError(key, null));
+            }
+        });
+        return cover;
+    }
+
+    /**
+     * 在背景執行緒上決定封面的載入方式：有縮圖就直接載入縮圖，否則以填滿顯示區域的大小背景解碼來源，並在完成後寫入縮圖。
+     *
+     * @param key   快取鍵（寬x高@路徑）。
+     * @param cover 封面屬性。
+     * @throws IllegalArgumentException 若資源找不到。
+     */
+    private void resolve(String key, ReadOnlyObjectWrapper<Image> cover) {
+        int separator = key.indexOf('@');
+        String size = key.substring(0, separator);
+        String path = key.substring(separator + 1);
+
+        // 網路資源不讀標頭也不保存縮圖，以原始尺寸解碼
+        if (Misc.isUrl(path)) {
+            publish(key, cover, ResourceLoader.loadImage(path, 0, 0), null, null);
+            return;
+        }
+
+        Path thumbnail = getThumbnailPath(path, size);
+        if (Files.exists(thumbnail)) {
+            publish(key, cover, new Image(thumbnail.toUri().toString(), true), thumbnail, null);
+            return;
+        }
+
+        int x = size.indexOf('x');
+        int viewWidth = Integer.parseInt(size.substring(0, x));
+        int viewHeight = Integer.parseInt(size.substring(x + 1));
+        Dimension2D source = readImageSize(path);
+
+        Image image;
+        if (source == null) {
+            image = ResourceLoader.loadImage(path, 0, 0);
+        } else if (source.getWidth() * viewHeight > source.getHeight() * viewWidth) {
+            // 來源比顯示區域寬：高度先碰到邊界，只指定高度
+            image = ResourceLoader.loadImage(path, 0, viewHeight);
+        } else {
+            // 來源比顯示區域高：寬度先碰到邊界，只指定寬度
+            image = ResourceLoader.loadImage(path, viewWidth, 0);
+        }
+        publish(key, cover, image, null, thumbnail);
+    }
+
+    /**
+     * 在 JavaFX Application Thread 上將背景載入中的圖片設為封面，並在載入完成或失敗時更新快取。
+     * 載入完成時以解碼後的大小重新計算佔用量，並寫入縮圖；載入失敗時將封面從快取移除，讓下次請求重新載入，
+     * 縮圖損壞時一併刪除縮圖，改由來源重建。
+     *
+     * @param key       快取鍵。
+     * @param cover     封面屬性。
+     * @param image     背景載入中的圖片。
+     * @param thumbnail 圖片來源的縮圖路徑，不是縮圖時為 {@code null}。
+     * @param target    載入完成後寫入的縮圖路徑，不寫入時為 {@code null}。
+     */
+    private void publish(String key, ReadOnlyObjectWrapper<Image> cover, Image image, Path thumbnail, Path target) {
+        Platform.runLater(() -> {
+            // 圖片在背景執行緒上建立，設定監聽器前可能就已載入完成或失敗
+            if (image.isError()) {
+                onError(key, thumbnail);
+                return;
+            }
+            cover.set(image);
+            if (image.getProgress() >= 1.0) {
+                onLoaded(key, cover, image, target);
+            } else {
+                image.progressProperty().addListener((obs, oldVal, newVal) -> {
+                    if (newVal.doubleValue() >= 1.0 && !image.isError()) {
+                        onLoaded(key, cover, image, target);
+                    }
+                });
+                image.errorProperty().addListener((obs, oldVal, newVal) -> {
+                    if (newVal) {
+                        onError(key, thumbnail);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * 封面載入完成：以解碼後的大小重新計算佔用量，並在背景寫入縮圖。
+     *
+     * @param key    快取鍵。
+     * @param cover  封面屬性。
+     * @param image  已載入完成的圖片。
+     * @param target 縮圖路徑，不寫入時為 {@code null}。
+     */
+    private void onLoaded(String key, ReadOnlyObjectWrapper<Image> cover, Image image, Path target) {
+        cache.reweigh(key, cover);
+        if (target != null) {
+            executor.execute(() -> writeThumbnail(image, target));
+        }
+    }
+
+    /**
+     * 封面載入失敗：從快取移除，縮圖損壞時在背景刪除縮圖。
+     *
+     * @param key       快取鍵。
+     * @param thumbnail 圖片來源的縮圖路徑，不是縮圖時為 {@code null}。
+     */
+    private void onError(String key, Path thumbnail) {
+        cache.remove(key);
+        if (thumbnail != null) {
+            executor.execute(() -> {
+                try {
+                    Files.deleteIfExists(thumbnail);
+                } catch (IOException e) {
+                    System.err.println("Failed to delete cover thumbnail: " + thumbnail + " - " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * 讀取圖檔標頭取得原始長寬，不解碼像素。
+     *
+     * @param path 封面路徑（內部資源路徑、外部路徑）。
+     * @return 原始長寬，格式不支援或讀取失敗時為 {@code null}。
+     */
+    private static Dimension2D readImageSize(String path) {
+        try {
+            URL url = ResourceLoader.class.getResource(path);
+            if (url == null) {
+                url = Paths.get(path).toAbsolutePath().toUri().toURL();
+            }
+            try (InputStream stream = url.openStream();
+                 ImageInputStream input = ImageIO.createImageInputStream(stream)) {
+                Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+                if (!readers.hasNext()) {
+                    return null;
+                }
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(input, true, true);
+                    return new Dimension2D(reader.getWidth(0), reader.getHeight(0));
+                } finally {
+                    reader.dispose();
+                }
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 取得縮圖的外部路徑。
+     *
+     * @param path 封面路徑。
+     * @param size 顯示區域大小（寬x高）。
+     * @return 縮圖路徑。
+     */
+    private static Path getThumbnailPath(String path, String size) {
+        String id = path + "|" + ResourceLoader.getResourceSize(path) + "|" + size;
+        String name = UUID.nameUUIDFromBytes(id.getBytes(StandardCharsets.UTF_8)) + ".png";
+        return Paths.get(GameSetting.Cover.THUMBNAIL_DIR, name);
+    }
+
+    /**
+     * 將已載入完成的圖片寫成 PNG 縮圖（先寫入暫存檔再取代，避免讀到寫到一半的檔案）。
+     *
+     * @param image     已載入完成的圖片。
+     * @param thumbnail 縮圖路徑。
+     */
+    private static void writeThumbnail(Image image, Path thumbnail) {
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        PixelReader reader = image.getPixelReader();
+        if (reader == null || width <= 0 || height <= 0) {
+            return;
+        }
+        int[] pixels = new int[width * height];
+        reader.getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        BufferedImage bufferedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        bufferedImage.setRGB(0, 0, width, height, pixels, 0, width);
+        Path temp = null;
+        try {
+            Files.createDirectories(thumbnail.getParent());
+            temp = Files.createTempFile(thumbnail.getParent(), "cover", ".tmp");
+            ImageIO.write(bufferedImage, "png", temp.toFile());
+            Files.move(temp, thumbnail, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Failed to write cover thumbnail: " + thumbnail + " - " + e.getMessage());
+            try {
+                if (temp != null) {
+                    Files.deleteIfExists(temp);
+                }
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * 計算封面佔用的記憶體大小（ARGB，每像素 4 位元組）：載入完成後以解碼後的長寬計算，之前以顯示區域估計。
+     *
+     * @param key   快取鍵（寬x高@路徑）。
+     * @param cover 封面屬性。
+     * @return 估計大小（位元組）。
+     */
+    private static long weigh(String key, ReadOnlyObjectWrapper<Image> cover) {
+        Image image = cover.get();
+        if (image != null && image.getProgress() >= 1.0 && image.getWidth() > 0) {
+            return (long) image.getWidth() * (long) image.getHeight() * 4;
+        }
+        int x = key.indexOf('x');
+        long width = Long.parseLong(key.substring(0, x));
+        long height = Long.parseLong(key.substring(x + 1, key.indexOf('@')));
+        return width * height * 4;
+    }
+
+    @Override
+    public String toString() {
+        return "CoverImageCache{" + cache + "}";
+    }
+}
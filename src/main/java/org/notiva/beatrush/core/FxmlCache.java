@@ -0,0 +1,193 @@
+package org.notiva.beatrush.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import javafx.fxml.FXMLLoader;
+
+/**
+ * <h2>FXML 快取</h2>
+ * <p>
+ * JavaFX 沒有公開 API 可以保存解析後的 FXML 結構再重複實例化，每個元件實例仍需由 {@link FXMLLoader} 建立。
+ * 這裡快取每次建立時可以共用的部分：
+ * </p>
+ * <ul>
+ *   <li>FXML 內容：每個路徑只讀取一次資源，之後從記憶體載入。</li>
+ *   <li>類別查找結果：萬用字元 import（例如 {@code javafx.scene.layout.*}）使每個標籤都要逐一嘗試各個套件，
+ *   而每個 {@link FXMLLoader} 各自從頭查找；這裡跨實例記住找到與找不到的類別。</li>
+ * </ul>
+ * <p>
+ * 同時統計每個 FXML 的建立次數與時間（包含其中巢狀元件的建立），可透過 {@link #getStats()} 找出昂貴的元件；
+ * 開啟 {@link GameSetting.Cache#LOG_FXML_STATS} 時會在程式結束時輸出。
+ * </p>
+ */
+public final class FxmlCache {
+
+    /**
+     * 共用的類別載入器
+     */
+    private static final ClassLoader CLASS_LOADER = new CachingClassLoader(FxmlCache.class.getClassLoader());
+
+    /**
+     * 已讀取的 FXML (以資源路徑為 key)
+     */
+    private static final Map<String, Template> TEMPLATES = new ConcurrentHashMap<>();
+
+    private FxmlCache() {
+    }
+
+    /**
+     * FXML 內容與其建立統計
+     */
+    private static final class Template {
+        private final URL location;
+        private final byte[] content;
+        private final LongAdder buildCount = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private Template(URL location, byte[] content) {
+            this.location = location;
+            this.content = content;
+        }
+
+        private void record(long nanos) {
+            buildCount.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    /**
+     * 以快取的 FXML 內容建立視圖。
+     *
+     * @param resourcePath FXML 內部資源路徑，例如 {@code "/view/component/CustomControl.fxml"}。
+     * @param component    自訂元件實例，會同時作為 root 與 controller；一般視圖為 {@code null}。
+     * @return 已載入的 {@link FXMLLoader}，可從中取得根節點與 controller。
+     * @throws IllegalArgumentException 若資源找不到。
+     * @throws RuntimeException         FXML 載入失敗。
+     */
+    public static FXMLLoader load(String resourcePath, Object component) {
+        Template template = TEMPLATES.computeIfAbsent(resourcePath, FxmlCache::readTemplate);
+        long startNanos = System.nanoTime();
+        // location 用於解析 FXML 中的相對路徑 (例如 stylesheets)
+        FXMLLoader loader = new FXMLLoader(template.location);
+        loader.setClassLoader(CLASS_LOADER);
+        if (component != null) {
+            loader.setRoot(component);
+            loader.setController(component);
+        }
+        try (InputStream inputStream = new ByteArrayInputStream(template.content)) {
+            loader.load(inputStream);
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Failed to load FXML: %s", resourcePath), e);
+        }
+        template.record(System.nanoTime() - startNanos);
+        return loader;
+    }
+
+    /**
+     * 取得各 FXML 的建立統計，依總建立時間由高到低排序。
+     *
+     * @return 統計內容
+     */
+    public static String getStats() {
+        return TEMPLATES.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Template> entry) -> entry.getValue().totalNanos.sum()).reversed())
+                .map(entry -> {
+                    Template template = entry.getValue();
+                    long count = template.buildCount.sum();
+                    double totalMillis = template.totalNanos.sum() / 1_000_000.0;
+                    return String.format("  %s: builds=%d, avg=%.3fms, max=%.3fms, total=%.1fms", entry.getKey(), count,
+                            count == 0 ? 0 : totalMillis / count, template.maxNanos.get() / 1_000_000.0, totalMillis);
+                })
+                .collect(Collectors.joining("\n", "FxmlCache{\n", "\n}"));
+    }
+
+    /**
+     * 讀取 FXML 資源內容。
+     *
+     * @param resourcePath FXML 內部資源路徑
+     * @return FXML 內容
+     */
+    private static Template readTemplate(String resourcePath) {
+        URL resourceUrl = FxmlCache.class.getResource(resourcePath);
+        if (resourceUrl == null) {
+            throw new IllegalArgumentException("FXML resource not found: " + resourcePath);
+        }
+        try (InputStream inputStream = resourceUrl.openStream()) {
+            return new Template(resourceUrl, inputStream.readAllBytes());
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Failed to load FXML: %s", resourcePath), e);
+        }
+    }
+
+    /**
+     * <h2>記住查找結果的類別載入器</h2>
+     * <p>
+     * 委派給原本的類別載入器，並記住找到的類別與找不到的類別名稱，
+     * 之後同樣的查找不必再走一次完整的委派流程。
+     * </p>
+     * <p>
+     * 類別仍由原本的類別載入器定義，因此在模組路徑上執行時（{@code org.notiva.beatrush} 模組）
+     * 找到的類別仍屬於原本的模組，FXMLLoader 的反射存取照樣依 module-info 的 {@code opens} 判斷。
+     * {@code FxmlCacheTest} 在模組路徑上經由此載入器載入自訂元件（{@code ./gradlew test}）。
+     * </p>
+     */
+    private static final class CachingClassLoader extends ClassLoader {
+        /**
+         * 記住的找不到類別時共用的例外：萬用字元 import 每個標籤都會失敗多次，
+         * 不必每次建立新例外並擷取堆疊 (FXMLLoader 只會捕捉後改試下一個套件)
+         */
+        private static final ClassNotFoundException CLASS_NOT_FOUND = new MissingClassException();
+
+        private final Map<String, Class<?>> classes = new ConcurrentHashMap<>();
+        private final Set<String> missingClasses = ConcurrentHashMap.newKeySet();
+
+        private CachingClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            Class<?> type = classes.get(name);
+            if (type != null) {
+                return type;
+            }
+            if (missingClasses.contains(name)) {
+                throw CLASS_NOT_FOUND;
+            }
+            try {
+                type = getParent().loadClass(name);
+            } catch (ClassNotFoundException e) {
+                missingClasses.add(name);
+                throw e;
+            }
+            classes.put(name, type);
+            return type;
+        }
+    }
+
+    /**
+     * 不擷取堆疊的 {@link ClassNotFoundException}，只用於已知找不到的類別。
+     */
+    private static final class MissingClassException extends ClassNotFoundException {
+        private MissingClassException() {
+            super("Class not found (cached lookup)");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package org.notiva.beatrush.core;
 import java.util.Map;
 
 import javafx.scene.input.KeyCode;
+import org.notiva.beatrush.util.JudgementProfile;
+import org.notiva.beatrush.util.PlayfieldMode;
 import org.notiva.beatrush.util.TrackType;
 
 /**
@@ -11,15 +13,40 @@ import org.notiva.beatrush.util.TrackType;
 public final class GameSetting {
 
     public static final class Timing {
-        public static final double FRAME_PER_S = 100.0;
-        public static final double FRAME_TIME_S = 1.0 / FRAME_PER_S;
-        public static final double DELAY_CORRECTION_MS = 300.0;
+        public static final double DELAY_CORRECTION_MS = 300.0;        // 尚未就緒的播放器提前播放的時間
+        public static final boolean AUDIO_SYNC = true;                 // 遊戲時間是否鎖定在音樂播放進度上
+        public static final double AUDIO_SLEW_RATE = 0.1;              // 每幀修正的時間偏差比例
+        public static final double AUDIO_RESYNC_THRESHOLD_MS = 200.0;  // 落後超過此值時直接追上
+        public static final int SIMULATION_TICK_HZ = 1000;             // 模擬執行緒 (判定、計分) 每秒的 tick 數
     }
 
     public static final class ObjectMotion {
         public static final double FALL_DOWN_Y_PER_S = 600.0;
         public static final double FALL_DOWN_Y_PER_MS = FALL_DOWN_Y_PER_S / 1000.0;
-        public static final double FALL_DOWN_Y_PER_FRAME = FALL_DOWN_Y_PER_S / Timing.FRAME_PER_S;
+    }
+
+    public static final class Render {
+        public static final PlayfieldMode PLAYFIELD_MODE = PlayfieldMode.SCENE_GRAPH;
+        public static final int NOTE_POOL_SIZE_PER_TRACK = 16; // 每條音軌預先建立的 NoteView 數量
+    }
+
+    public static final class Cache {
+        public static final long CLIP_CACHE_MAX_BYTES = 64L << 20;   // 音效快取上限 (估計的解碼後大小)
+        public static final long MEDIA_CACHE_MAX_BYTES = 512L << 20; // 音樂快取上限 (估計的解碼後大小)
+        public static final int DECODED_SIZE_RATIO = 11;             // 解碼後與壓縮檔的大小比 (128kbps MP3 -> 44.1kHz 16-bit 立體聲 PCM)
+        public static final long UNKNOWN_RESOURCE_BYTES = 8L << 20;  // 無法得知檔案大小時的估計值
+        public static final String METADATA_INDEX_PATH = "cache/metadata.index"; // 歌曲 metadata 索引檔 (外部路徑)
+        public static final boolean LOG_FXML_STATS = false;          // 結束時輸出各 FXML 的建立次數與時間 (找出昂貴的元件)
+    }
+
+    public static final class Cover {
+        public static final int SIZE_STEP = 128;                    // 封面縮圖大小的取整單位 (px)
+        public static final long CACHE_MAX_BYTES = 64L << 20;       // 記憶體中封面的總量上限
+        public static final String THUMBNAIL_DIR = "cache/cover/"; // 縮圖存放目錄 (外部路徑)
+    }
+
+    public static final class Preload {
+        public static final int MAX_PRELOADED_SONGS = 4; // 保留預載結果的歌曲數量
     }
 
     public static final class Audio {
@@ -29,6 +56,7 @@ public final class GameSetting {
     }
 
     public static final class JudgmentWindow {
+        // 以下為 NORMAL 判定區間，其他難度見 JudgementProfile
         public static final double PERFECT_MIN_MS = -50.0;
         public static final double PERFECT_MAX_MS = 50.0;
         public static final double GREAT_MIN_MS = -150.0;
@@ -37,11 +65,15 @@ public final class GameSetting {
         public static final double GOOD_MAX_MS = 200.0;
         public static final double BAD_MIN_MS = -800.0;
         public static final double BAD_MAX_MS = 300.0;
+        public static final double HOLD_RELEASE_MIN_MS = -150.0;  // 長按提早放開多少以內仍算完成
+        public static final JudgementProfile DEFAULT_PROFILE = JudgementProfile.NORMAL; // 預設難度
     }
 
     public static final class Score {
         public static final int COMBO_BONUS_INTERVAL = 10; // 每幾連擊增加一次分數
         public static final int COMBO_BONUS_MAX = 30;      // 最大加分
+        public static final double HOLD_TICK_INTERVAL_MS = 100.0; // 長按期間每隔多久計一次分
+        public static final int HOLD_TICK_SCORE = 5;              // 長按每次計分的分數
     }
 
     public static final class Control {
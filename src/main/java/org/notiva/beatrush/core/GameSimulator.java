@@ -0,0 +1,138 @@
+package org.notiva.beatrush.core;
+
+import org.notiva.beatrush.util.Chart;
+import org.notiva.beatrush.util.InputScript;
+import org.notiva.beatrush.util.JudgementProfile;
+import org.notiva.beatrush.util.JudgementTable;
+import org.notiva.beatrush.util.NoteTable;
+import org.notiva.beatrush.util.Score;
+import org.notiva.beatrush.util.TrackType;
+
+/**
+ * <h2>無畫面遊戲模擬器</h2>
+ * <p>
+ * 不需要 JavaFX toolkit，直接以 {@link TrackJudge} 對譜面與 {@link InputScript} 進行判定與計分，
+ * 得到與實際遊玩相同規則下的最終 {@link Score}。可用於回歸測試、自動遊玩驗證與效能基準測試。
+ * </p>
+ *
+ * <p>
+ * 模擬以事件驅動，不逐幀推進：每個輸入事件前才推進到該時間點（出現音符、長按計分、漏接判定），
+ * 因此一次模擬的成本只與音符數與輸入數成正比。時間以譜面時間（ms）表示，音符在其時間戳被打擊；
+ * 超過判定表的 Bad 延遲區間仍未打擊即判定為 Miss。
+ * </p>
+ *
+ * <p>使用範例：</p>
+ * <pre>{@code
+ * Chart chart = ResourceLoader.loadChart("song");
+ * GameSimulator simulator = new GameSimulator(chart);
+ * Score score = simulator.run(InputScript.autoPlay(chart));
+ * }</pre>
+ */
+public class GameSimulator {
+
+    private static final TrackType[] TRACK_TYPES = TrackType.values();
+
+    /**
+     * 此模擬器專用的分數管理器（不影響遊戲中的全域分數）
+     */
+    private final ScoreManager scoreManager = new ScoreManager();
+
+    /**
+     * 各音軌的音符表（以 {@link TrackType} ordinal 為索引）
+     */
+    private final NoteTable[] noteTables = new NoteTable[TRACK_TYPES.length];
+
+    /**
+     * 各音軌的判定器（以 {@link TrackType} ordinal 為索引）
+     */
+    private final TrackJudge[] judges = new TrackJudge[TRACK_TYPES.length];
+
+    /**
+     * 各音軌下一個要加入判定的音符索引（以 {@link TrackType} ordinal 為索引）
+     */
+    private final int[] spawnCursors = new int[TRACK_TYPES.length];
+
+    /**
+     * 音符在打擊時間前多久加入判定（ms），即最早可打擊的時間，依判定表決定
+     */
+    private double spawnLeadMillis;
+
+    /**
+     * 建構模擬器。
+     *
+     * @param chart 要模擬的譜面
+     */
+    public GameSimulator(Chart chart) {
+        for (TrackType trackType : TRACK_TYPES) {
+            int t = trackType.ordinal();
+            noteTables[t] = chart.getNoteTable(trackType);
+            judges[t] = new TrackJudge(scoreManager, TrackJudge.NO_OP_LISTENER);
+            judges[t].setNoteTable(noteTables[t]);
+        }
+    }
+
+    /**
+     * 切換判定區間預設（難度），之後的模擬都會使用此預設。
+     *
+     * @param profile 判定區間預設
+     */
+    public void setJudgementProfile(JudgementProfile profile) {
+        scoreManager.setJudgementProfile(profile);
+    }
+
+    /**
+     * 以指定的輸入模擬一次完整遊玩。
+     * 同一個模擬器可以重複呼叫，每次都會從頭開始。
+     *
+     * @param input 輸入腳本
+     * @return 最終分數（快照）
+     */
+    public Score run(InputScript input) {
+        reset();
+        for (int i = 0; i < input.size(); i++) {
+            double millis = input.getMillis(i);
+            advanceTo(millis);
+            TrackJudge judge = judges[input.getTrackType(i).ordinal()];
+            if (input.isPressed(i)) {
+                judge.hit(millis);
+            } else {
+                judge.release(millis);
+            }
+        }
+        // 輸入結束後，剩下的音符全部結算
+        advanceTo(Double.POSITIVE_INFINITY);
+        return scoreManager.getScoreSnapshot();
+    }
+
+    /**
+     * 重置分數與所有音軌的判定狀態。
+     */
+    private void reset() {
+        scoreManager.reset();
+        JudgementTable judgementTable = scoreManager.getJudgementTable();
+        spawnLeadMillis = -judgementTable.getEarliestMs();
+        for (int t = 0; t < TRACK_TYPES.length; t++) {
+            judges[t].setHitOffset(0);
+            judges[t].reset();
+            spawnCursors[t] = 0;
+        }
+    }
+
+    /**
+     * 推進所有音軌到指定時間：加入可打擊的音符，並推進判定（長按計分與漏接）。
+     *
+     * @param millis 譜面時間（ms）
+     */
+    private void advanceTo(double millis) {
+        for (int t = 0; t < TRACK_TYPES.length; t++) {
+            NoteTable noteTable = noteTables[t];
+            TrackJudge judge = judges[t];
+            int cursor = spawnCursors[t];
+            while (cursor < noteTable.size() && noteTable.getTimestamp(cursor) - spawnLeadMillis <= millis) {
+                judge.spawn(cursor++);
+            }
+            spawnCursors[t] = cursor;
+            judge.update(millis);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package org.notiva.beatrush.core;
+
+import java.util.Arrays;
+
+import javafx.scene.input.KeyEvent;
+import org.notiva.beatrush.util.InputEventQueue;
+import org.notiva.beatrush.util.TrackType;
+
+/**
+ * <h2>輸入管理器</h2>
+ * <p>
+ * 按鍵按下與放開事件一進入 JavaFX 事件派送流程就以 {@link System#nanoTime()} 打上時間戳並放進佇列，
+ * 之後由遊戲主迴圈取出，並依時間戳換算成事件當下的遊戲時間進行判定。
+ * 判定準確度因此不受事件派送與畫面更新的延遲影響。
+ * 每個音軌的按住狀態存在以 {@link TrackType} ordinal 為索引的陣列中，
+ * 按住不放時系統自動重複送出的按下事件會被忽略。
+ * 失去焦點後收不到放開事件，因此失去焦點時要呼叫 {@link #releaseAll()}，否則按住狀態與長按音符會卡住。
+ * </p>
+ *
+ * <p>
+ * 事件由 JavaFX Application Thread 加入，由模擬執行緒取出（見 {@link SimulationLoop}），
+ * 因此佇列的存取以佇列本身同步；處理器在鎖外呼叫。
+ * </p>
+ *
+ * <p>
+ * 同時統計每次按鍵從打上時間戳到被取出判定之間的延遲（dispatch lag），
+ * 可透過 {@link #toString()} 或各 getter 查看，用於調整（統計由取出事件的執行緒更新，應在模擬停止後讀取）。
+ * </p>
+ */
+public class InputManager {
+
+    /** 延遲統計的直方圖區間寬度（ns） */
+    private static final long LAG_BUCKET_NANOS = 100_000;
+
+    /** 延遲統計的直方圖區間數量，超出範圍者計入最後一格 */
+    private static final int LAG_BUCKET_COUNT = 1000;
+
+    /** 待處理的按鍵事件 */
+    private final InputEventQueue eventQueue = new InputEventQueue();
+
+    /** 各音軌目前是否按住（以 {@link TrackType} ordinal 為索引） */
+    private final boolean[] keyDown = new boolean[TrackType.values().length];
+
+    /** 延遲直方圖 */
+    private final int[] lagHistogram = new int[LAG_BUCKET_COUNT];
+
+    /** 已取出的按鍵事件數量 */
+    private long dispatchedCount = 0;
+
+    /** 延遲總和（ns） */
+    private long totalLagNanos = 0;
+
+    /** 最大延遲（ns） */
+    private long maxLagNanos = 0;
+
+    /**
+     * 按鍵事件處理器。
+     */
+    public interface KeyHandler {
+        /**
+         * 處理一次按下。
+         *
+         * @param trackType 按下的音軌
+         * @param nanoTime  按下當下的 {@link System#nanoTime()}
+         */
+        void onPress(TrackType trackType, long nanoTime);
+
+        /**
+         * 處理一次放開。
+         *
+         * @param trackType 放開的音軌
+         * @param nanoTime  放開當下的 {@link System#nanoTime()}
+         */
+        void onRelease(TrackType trackType, long nanoTime);
+    }
+
+    private static class Holder {
+        private static final InputManager INSTANCE = new InputManager();
+    }
+
+    /**
+     * 取得 InputManager 的唯一實例
+     */
+    public static InputManager getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private InputManager() {
+    }
+
+    /**
+     * 接收按鍵按下事件，立即打上時間戳並放進佇列。
+     * 應盡早在事件派送流程中呼叫（例如 event filter）。
+     *
+     * @param event 按鍵事件
+     * @return 若按鍵對應到音軌則為 true
+     */
+    public boolean onKeyPressed(KeyEvent event) {
+        long nanoTime = System.nanoTime();
+        TrackType trackType = GameSetting.Control.KEY_TO_TRACK.get(event.getCode());
+        if (trackType == null) {
+            return false;
+        }
+        // 按住不放時的自動重複不算新的按下
+        if (!keyDown[trackType.ordinal()]) {
+            keyDown[trackType.ordinal()] = true;
+            synchronized (eventQueue) {
+                eventQueue.add(trackType, true, nanoTime);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 接收按鍵放開事件，立即打上時間戳並放進佇列。
+     *
+     * @param event 按鍵事件
+     * @return 若按鍵對應到音軌則為 true
+     */
+    public boolean onKeyReleased(KeyEvent event) {
+        long nanoTime = System.nanoTime();
+        TrackType trackType = GameSetting.Control.KEY_TO_TRACK.get(event.getCode());
+        if (trackType == null) {
+            return false;
+        }
+        if (keyDown[trackType.ordinal()]) {
+            keyDown[trackType.ordinal()] = false;
+            synchronized (eventQueue) {
+                eventQueue.add(trackType, false, nanoTime);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 放開所有按住中的音軌：為每個按住的音軌排入一次放開事件並清除按住狀態（例如視窗失去焦點時）。
+     */
+    public void releaseAll() {
+        long nanoTime = System.nanoTime();
+        for (TrackType trackType : TrackType.values()) {
+            if (keyDown[trackType.ordinal()]) {
+                keyDown[trackType.ordinal()] = false;
+                synchronized (eventQueue) {
+                    eventQueue.add(trackType, false, nanoTime);
+                }
+            }
+        }
+    }
+
+    /**
+     * 檢查音軌目前是否按住。
+     *
+     * @param trackType 音軌
+     * @return 若按住則為 true
+     */
+    public boolean isKeyDown(TrackType trackType) {
+        return keyDown[trackType.ordinal()];
+    }
+
+    /**
+     * 依序取出所有待處理的按鍵事件並交給處理器，同時記錄派送延遲。
+     *
+     * @param handler 按鍵事件處理器
+     */
+    public void dispatch(KeyHandler handler) {
+        while (true) {
+            TrackType trackType;
+            boolean pressed;
+            long nanoTime;
+            synchronized (eventQueue) {
+                if (eventQueue.isEmpty()) {
+                    return;
+                }
+                trackType = eventQueue.peekTrackType();
+                pressed = eventQueue.peekPressed();
+                nanoTime = eventQueue.peekNanoTime();
+                eventQueue.remove();
+            }
+            recordLag(System.nanoTime() - nanoTime);
+            if (pressed) {
+                handler.onPress(trackType, nanoTime);
+            } else {
+                handler.onRelease(trackType, nanoTime);
+            }
+        }
+    }
+
+    /**
+     * 丟棄所有尚未處理的按鍵事件並清除按住狀態（例如遊戲重新開始時）。
+     */
+    public void clear() {
+        synchronized (eventQueue) {
+            eventQueue.clear();
+        }
+        Arrays.fill(keyDown, false);
+    }
+
+    /**
+     * 記錄一次派送延遲。
+     *
+     * @param lagNanos 延遲（ns）
+     */
+    private void recordLag(long lagNanos) {
+        lagNanos = Math.max(lagNanos, 0);
+        dispatchedCount++;
+        totalLagNanos += lagNanos;
+        maxLagNanos = Math.max(maxLagNanos, lagNanos);
+        lagHistogram[(int) Math.min(lagNanos / LAG_BUCKET_NANOS, LAG_BUCKET_COUNT - 1)]++;
+    }
+
+    /**
+     * 重置派送延遲統計。
+     */
+    public void resetStats() {
+        dispatchedCount = 0;
+        totalLagNanos = 0;
+        maxLagNanos = 0;
+        Arrays.fill(lagHistogram, 0);
+    }
+
+    /**
+     * 取得已取出的按鍵事件數量。
+     */
+    public long getDispatchedCount() {
+        return dispatchedCount;
+    }
+
+    /**
+     * 取得平均派送延遲（ms）。
+     */
+    public double getAverageLagMillis() {
+        return dispatchedCount == 0 ? 0 : totalLagNanos / (double) dispatchedCount / 1_000_000.0;
+    }
+
+    /**
+     * 取得最大派送延遲（ms）。
+     */
+    public double getMaxLagMillis() {
+        return maxLagNanos / 1_000_000.0;
+    }
+
+    /**
+     * 取得派送延遲的百分位數（ms），精度為直方圖區間寬度（0.1 ms）。
+     *
+     * @param percentile 百分位數（0 ~ 100）
+     * @return 該百分位數所在區間的上界（ms）
+     */
+    public double getLagPercentileMillis(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile out of range: " + percentile);
+        }
+        if (dispatchedCount == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(dispatchedCount * percentile / 100.0);
+        long accumulated = 0;
+        for (int i = 0; i < LAG_BUCKET_COUNT; i++) {
+            accumulated += lagHistogram[i];
+            if (accumulated >= threshold && accumulated > 0) {
+                return Math.min((i + 1) * LAG_BUCKET_NANOS, maxLagNanos) / 1_000_000.0;
+            }
+        }
+        return getMaxLagMillis();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("InputManager{events=%d, lagAvg=%.2fms, lagP50=%.1fms, lagP99=%.1fms, lagMax=%.2fms}",
+                dispatchedCount, getAverageLagMillis(), getLagPercentileMillis(50), getLagPercentileMillis(99),
+                getMaxLagMillis());
+    }
+}
@@ -1,7 +1,6 @@
 package org.notiva.beatrush.core;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
@@ -10,15 +9,40 @@ import javafx.scene.media.AudioClip;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 import javafx.util.Duration;
+import org.notiva.beatrush.util.ResourceCache;
 
 /**
  * <h2>音檔管理器</h2>
+ * <p>
+ * {@link AudioClip} 與 {@link Media} 各自放在有容量上限的 {@link ResourceCache} 中，
+ * 依估計的解碼後大小淘汰最久未使用的音檔，瀏覽大量歌曲時記憶體不會無限增長；
+ * 同一個音檔同時只會載入一次。快取統計可透過 {@link #toString()} 查看。
+ * </p>
+ *
+ * <p>
+ * 遊戲歌曲的 {@link MediaPlayer} 由此統一管理：同一首歌只保留一個播放器，
+ * 等到 {@link MediaPlayer.Status#READY} 並 seek 到開頭（pre-roll）後才交給遊戲使用，
+ * 換歌或離開歌曲時明確 {@link MediaPlayer#dispose()}，避免原生資源累積。
+ * </p>
  */
 public class MediaManager {
-    private final Map<String, AudioClip> clipCache = new ConcurrentHashMap<>();
-    private final Map<String, Media> mediaCache = new ConcurrentHashMap<>();
+    private final ResourceCache<String, AudioClip> clipCache = new ResourceCache<>(
+            "clip", GameSetting.Cache.CLIP_CACHE_MAX_BYTES, ResourceLoader::loadAudio, (path, clip) -> estimateDecodedBytes(path));
+    private final ResourceCache<String, Media> mediaCache = new ResourceCache<>(
+            "media", GameSetting.Cache.MEDIA_CACHE_MAX_BYTES, ResourceLoader::loadMedia, (path, media) -> estimateDecodedBytes(path));
 
     private final MediaPlayer bgmPlayer;
+
+    /**
+     * 目前歌曲的播放器與其音樂，沒有時為 null
+     */
+    private MediaPlayer songPlayer;
+    private Media songMedia;
+
+    /**
+     * 目前歌曲播放器準備完成（READY 並 pre-roll）的結果
+     */
+    private CompletableFuture<MediaPlayer> songPlayerReady;
     private Timeline bgmfadeInTimeline;
     private Timeline bgmfadeOutTimeline;
 
@@ -48,68 +72,64 @@ public class MediaManager {
     }
 
     /**
-     * 載入指定路徑的音效資源為 {@link AudioClip}，並加入快取。
+     * 估計音檔解碼後佔用的記憶體大小。
+     *
+     * @param path 資源內部路徑或 URL。
+     * @return 估計大小（位元組）。
+     */
+    private static long estimateDecodedBytes(String path) {
+        long size = ResourceLoader.getResourceSize(path);
+        if (size < 0) {
+            size = GameSetting.Cache.UNKNOWN_RESOURCE_BYTES;
+        }
+        return size * GameSetting.Cache.DECODED_SIZE_RATIO;
+    }
+
+    /**
+     * 預先載入指定路徑的音效資源為 {@link AudioClip}，並加入快取。
      *
      * @param path 資源內部路徑或 URL。
      * @return 對應的 {@link AudioClip} 實例。
      */
     public AudioClip loadClip(String path) {
-        AudioClip clip = ResourceLoader.loadAudio(path);
-        clipCache.put(path, clip);
-        return clip;
+        return clipCache.get(path);
     }
 
     /**
-     * 載入指定路徑的音樂資源為 {@link Media}，並加入快取。
+     * 預先載入指定路徑的音樂資源為 {@link Media}，並加入快取。
      *
      * @param path 資源內部路徑或 URL。
      * @return 對應的 {@link Media} 實例。
      */
     public Media loadMedia(String path) {
-        Media media = ResourceLoader.loadMedia(path);
-        mediaCache.put(path, media);
-        return media;
+        return mediaCache.get(path);
     }
 
     /**
-     * 取得對應路徑的 {@link AudioClip}。若尚未載入，將自動載入並快取。
+     * 取得對應路徑的 {@link AudioClip}。若尚未載入，將自動載入並快取；
+     * 若其他執行緒正在載入同一個音檔，會等待並共用其結果。
      *
      * @param path 資源內部路徑或 URL。
      * @return 對應的 {@link AudioClip} 實例。
      */
     public AudioClip getClip(String path) {
-        AudioClip clip = clipCache.get(path);
-        if (clip == null) {
-            clip = loadClip(path);
-            AudioClip existing = clipCache.putIfAbsent(path, clip);
-            if (existing != null) {
-                clip = existing; // 可能其他執行緒已經放入
-            }
-        }
-        return clip;
+        return clipCache.get(path);
     }
 
     /**
-     * 取得對應路徑的 {@link Media}。若尚未載入，將自動載入並快取。
+     * 取得對應路徑的 {@link Media}。若尚未載入，將自動載入並快取；
+     * 若其他執行緒正在載入同一個音檔，會等待並共用其結果。
      *
      * @param path 資源內部路徑或 URL。
      * @return 對應的 {@link Media} 實例。
      */
     public Media getMedia(String path) {
-        Media media = mediaCache.get(path);
-        if (media == null) {
-            media = loadMedia(path);
-            Media existing = mediaCache.putIfAbsent(path, media);
-            if (existing != null) {
-                media = existing; // 可能其他執行緒已經放入
-            }
-        }
-        return media;
+        return mediaCache.get(path);
     }
 
     /**
-     * 取得對應路徑的 {@link MediaPlayer}。若尚未載入，將自動載入並快取。
-     * 註：因為 {@link MediaPlayer} 用久了會不乾淨，所以最好是按需建立。
+     * 以對應路徑的 {@link Media} 建立新的 {@link MediaPlayer}，由呼叫端負責釋放。
+     * 遊戲歌曲請改用 {@link #prepareSongPlayer(Media)}。
      *
      * @param path 資源內部路徑或 URL。
      * @return 對應的 {@link MediaPlayer} 實例。
@@ -119,6 +139,53 @@ public class MediaManager {
         return new MediaPlayer(media);
     }
 
+    /**
+     * 準備指定音樂的遊戲播放器，必須在 JavaFX Application Thread 上呼叫。
+     * 若目前已是同一首音樂的播放器則沿用；否則釋放舊的播放器，建立新的並等待 READY 後 seek 到開頭。
+     * 準備失敗時會釋放播放器。
+     *
+     * @param media 歌曲音樂。
+     * @return 播放器準備完成的結果（在 JavaFX Application Thread 上完成）。
+     */
+    public CompletableFuture<MediaPlayer> prepareSongPlayer(Media media) {
+        if (songPlayer != null && songMedia == media) {
+            return songPlayerReady;
+        }
+        releaseSongPlayer();
+        MediaPlayer player = new MediaPlayer(media);
+        CompletableFuture<MediaPlayer> ready = new CompletableFuture<>();
+        player.setOnReady(() -> {
+            // pre-roll：先 seek 到開頭，讓第一次播放不必等待緩衝
+            player.seek(Duration.ZERO);
+            ready.complete(player);
+        });
+        player.setOnError(() -> {
+            // 失敗的播放器不保留，下次準備同一首音樂時重新建立
+            if (songPlayer == player) {
+                releaseSongPlayer();
+            }
+            ready.completeExceptionally(player.getError());
+        });
+        songPlayer = player;
+        songMedia = media;
+        songPlayerReady = ready;
+        return ready;
+    }
+
+    /**
+     * 停止並釋放目前歌曲的播放器（例如離開歌曲或關閉程式時）。
+     */
+    public void releaseSongPlayer() {
+        if (songPlayer == null) {
+            return;
+        }
+        songPlayer.stop();
+        songPlayer.dispose();
+        songPlayer = null;
+        songMedia = null;
+        songPlayerReady = null;
+    }
+
     /**
      * 取得 BGM 播放器
      *
@@ -154,5 +221,9 @@ public class MediaManager {
         bgmfadeOutTimeline.setOnFinished(e -> bgmPlayer.pause());
         bgmfadeOutTimeline.play();
     }
-}
 
+    @Override
+    public String toString() {
+        return "MediaManager{" + clipCache + ", " + mediaCache + "}";
+    }
+}
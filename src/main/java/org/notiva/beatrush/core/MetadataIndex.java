@@ -0,0 +1,259 @@
+package org.notiva.beatrush.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javafx.util.Duration;
+import org.notiva.beatrush.util.Song;
+
+/**
+ * <h2>歌曲 metadata 索引</h2>
+ * <p>
+ * 將 {@code assets/chart/} 下每份譜面的 metadata 連同檔案路徑、大小與修改時間存成索引檔，
+ * 選歌頁面可以直接從索引顯示歌曲，不需要逐一開啟譜面。
+ * {@link #refresh()} 會重新掃描目錄（平行處理），只重新解析大小或修改時間有變的譜面，
+ * 並移除已刪除的譜面；有變動時才改寫索引檔。
+ * </p>
+ *
+ * <h5>索引檔格式（big-endian）</h5>
+ * <pre>
+ * int     magic          "BRMI"
+ * int     version
+ * int     entryCount
+ * entry[entryCount]：
+ *     string path        (DataOutput UTF，譜面 JSON 路徑)
+ *     long   size        (位元組)
+ *     long   modified    (ms)
+ *     string songName    (boolean 是否存在 + UTF)
+ *     string songAuthor
+ *     string songFilePath
+ *     string songImagePath
+ *     double songLengthMs (負值代表未知)
+ * </pre>
+ *
+ * <p>使用範例：</p>
+ * <pre>{@code
+ * List<Song> songs = metadataIndex.getSongs();    // 立即從索引取得
+ * if (metadataIndex.refresh()) {                  // 背景執行緒上重新掃描
+ *     songs = metadataIndex.getSongs();
+ * }
+ * }</pre>
+ */
+public class MetadataIndex {
+
+    private static final int MAGIC = 0x42524D49; // "BRMI"
+    private static final int VERSION = 1;
+
+    /**
+     * 索引項目：譜面檔案的識別資訊與其 metadata
+     */
+    private record Entry(String path, long size, long modified, Song song) {
+    }
+
+    /**
+     * 目前的索引（依路徑排序），整個替換以便跨執行緒讀取
+     */
+    private volatile List<Entry> entries;
+
+    private static class Holder {
+        private static final MetadataIndex INSTANCE = new MetadataIndex();
+    }
+
+    /**
+     * 取得 {@link MetadataIndex} 的唯一實例。
+     *
+     * @return 全域唯一的 {@link MetadataIndex} 實例。
+     */
+    public static MetadataIndex getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private MetadataIndex() {
+    }
+
+    /**
+     * 取得索引中的所有歌曲（第一次呼叫時讀取索引檔），不會掃描譜面目錄。
+     *
+     * @return 歌曲列表（依譜面路徑排序）
+     */
+    public List<Song> getSongs() {
+        return getEntries().stream().map(Entry::song).toList();
+    }
+
+    /**
+     * 重新掃描譜面目錄並更新索引：未變動的譜面沿用索引，變動或新增的譜面平行重新解析，已刪除的譜面移除。
+     * 會讀寫檔案，應在背景執行緒上呼叫。
+     *
+     * @return 索引有變動時為 true
+     * @throws RuntimeException 無法掃描譜面目錄
+     */
+    public synchronized boolean refresh() {
+        Map<String, Entry> previous = getEntries().stream()
+                .collect(Collectors.toMap(Entry::path, Function.identity()));
+
+        Path chartDir = Paths.get(ResourceLoader.CHART_DIR);
+        List<Path> jsonFiles;
+        try (Stream<Path> files = Files.walk(chartDir)) {
+            jsonFiles = files
+                    .filter(Files::isRegularFile)
+                    .filter(path -> path.toString().endsWith(".json"))
+                    .toList();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to scan directory: " + chartDir, e);
+        }
+
+        List<Entry> scanned = jsonFiles.parallelStream()
+                .map(path -> scan(path, previous))
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(Entry::path))
+                .toList();
+
+        boolean changed = !scanned.equals(getEntries());
+        if (changed) {
+            entries = scanned;
+            write(scanned, Paths.get(GameSetting.Cache.METADATA_INDEX_PATH));
+        }
+        return changed;
+    }
+
+    /**
+     * 取得單一譜面的索引項目：大小與修改時間都沒變時沿用舊項目，否則重新解析。
+     *
+     * @param jsonPath 譜面路徑
+     * @param previous 舊索引
+     * @return 索引項目；解析失敗時為 null
+     */
+    private static Entry scan(Path jsonPath, Map<String, Entry> previous) {
+        String path = jsonPath.toString();
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(jsonPath, BasicFileAttributes.class);
+            long size = attributes.size();
+            long modified = attributes.lastModifiedTime().toMillis();
+            Entry entry = previous.get(path);
+            if (entry != null && entry.size() == size && entry.modified() == modified) {
+                return entry;
+            }
+            String fileName = jsonPath.getFileName().toString();
+            Song song = ResourceLoader.loadMetadata(fileName.substring(0, fileName.lastIndexOf('.')));
+            return new Entry(path, size, modified, song);
+        } catch (Exception e) {
+            System.err.println("Failed to load song: " + path + " - " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 取得目前的索引，第一次呼叫時讀取索引檔。
+     */
+    private List<Entry> getEntries() {
+        List<Entry> current = entries;
+        if (current == null) {
+            synchronized (this) {
+                if (entries == null) {
+                    entries = read(Paths.get(GameSetting.Cache.METADATA_INDEX_PATH));
+                }
+                current = entries;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 讀取索引檔；不存在或格式不符時回傳空索引。
+     *
+     * @param indexPath 索引檔路徑
+     * @return 索引項目
+     */
+    private static List<Entry> read(Path indexPath) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return List.of();
+            }
+            int count = in.readInt();
+            Entry[] result = new Entry[count];
+            for (int i = 0; i < count; i++) {
+                String path = in.readUTF();
+                long size = in.readLong();
+                long modified = in.readLong();
+                Song song = new Song();
+                song.setSongName(readString(in));
+                song.setSongAuthor(readString(in));
+                song.setSongFilePath(readString(in));
+                song.setSongImagePath(readString(in));
+                double songLengthMs = in.readDouble();
+                song.setSongLength(songLengthMs < 0 ? null : Duration.millis(songLengthMs));
+                result[i] = new Entry(path, size, modified, song);
+            }
+            return List.of(result);
+        } catch (NoSuchFileException e) {
+            return List.of();
+        } catch (EOFException e) {
+            System.err.println("Corrupted metadata index: " + indexPath);
+            return List.of();
+        } catch (IOException e) {
+            System.err.println("Failed to read metadata index: " + indexPath + " - " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * 寫入索引檔（先寫入暫存檔再取代）。寫入失敗只影響下次啟動的速度，因此只記錄錯誤。
+     *
+     * @param entries   索引項目
+     * @param indexPath 索引檔路徑
+     */
+    private static void write(List<Entry> entries, Path indexPath) {
+        Path tempPath = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(indexPath.toAbsolutePath().getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(entries.size());
+                for (Entry entry : entries) {
+                    Song song = entry.song();
+                    out.writeUTF(entry.path());
+                    out.writeLong(entry.size());
+                    out.writeLong(entry.modified());
+                    writeString(out, song.getSongName());
+                    writeString(out, song.getSongAuthor());
+                    writeString(out, song.getSongFilePath());
+                    writeString(out, song.getSongImagePath());
+                    Duration songLength = song.getSongLength();
+                    out.writeDouble(songLength == null || songLength.isUnknown() ? -1 : songLength.toMillis());
+                }
+            }
+            Files.move(tempPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Failed to write metadata index: " + indexPath + " - " + e.getMessage());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
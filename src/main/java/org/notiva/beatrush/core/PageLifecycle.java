@@ -0,0 +1,24 @@
+package org.notiva.beatrush.core;
+
+/**
+ * <h2>頁面生命週期</h2>
+ * <p>
+ * 頁面由 {@link StageManager} 快取，FXML 只載入一次，之後切換頁面時重複使用同一個 root。
+ * 因此頁面 controller 的 {@code initialize()} 只做一次性的設定（事件監聽、綁定），
+ * 每次進入頁面都要做的事（重置狀態、播放音樂等）應放在 {@link #onShow()}。
+ * </p>
+ */
+public interface PageLifecycle {
+
+    /**
+     * 頁面顯示到視窗上之後呼叫（每次進入頁面都會呼叫）。
+     */
+    default void onShow() {
+    }
+
+    /**
+     * 頁面即將被其他頁面取代時呼叫。
+     */
+    default void onHide() {
+    }
+}
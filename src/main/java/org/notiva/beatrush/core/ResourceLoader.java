@@ -1,20 +1,15 @@
 package org.notiva.beatrush.core;
 
 import java.io.*;
-import java.lang.reflect.Type;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.Map;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -22,9 +17,12 @@ import javafx.scene.image.Image;
 import javafx.scene.media.AudioClip;
 import javafx.scene.media.Media;
 import javafx.util.Duration;
+import org.notiva.beatrush.util.Chart;
 import org.notiva.beatrush.util.Misc;
-import org.notiva.beatrush.util.Note;
+import org.notiva.beatrush.util.NoteTable;
+import org.notiva.beatrush.util.NoteType;
 import org.notiva.beatrush.util.Song;
+import org.notiva.beatrush.util.TrackType;
 
 /**
  * <h2>資源載入管理器</h2>
@@ -53,26 +51,21 @@ import org.notiva.beatrush.util.Song;
 public class ResourceLoader {
 
     /**
-     * 載入自訂元件 FXML 視圖。
+     * 譜面目錄（外部路徑）
+     */
+    public static final String CHART_DIR = "assets/chart/";
+
+    /**
+     * 載入自訂元件 FXML 視圖 (FXML 內容與類別查找經由 {@link FxmlCache} 快取)。
      *
      * @param component    元件實例。
      * @param resourcePath FXML 內部資源路徑，例如 {@code "/view/component/CustomControl.fxml"}。
      * @return 已載入的 {@link Parent} 根節點。
-     * @throws RuntimeException FXML 載入失敗。
+     * @throws IllegalArgumentException 若資源找不到。
+     * @throws RuntimeException         FXML 載入失敗。
      */
     public static Parent loadComponentView(Object component, String resourcePath) {
-        URL resourceUrl = ResourceLoader.class.getResource(resourcePath);
-        if (resourceUrl == null) {
-            throw new IllegalArgumentException("FXML resource not found: " + resourcePath);
-        }
-        try {
-            FXMLLoader loader = new FXMLLoader(resourceUrl);
-            loader.setRoot(component);
-            loader.setController(component);
-            return loader.load();
-        } catch (IOException e) {
-            throw new RuntimeException(String.format("Failed to load FXML: %s", resourcePath), e);
-        }
+        return FxmlCache.load(resourcePath, component).getRoot();
     }
 
     /**
@@ -83,16 +76,19 @@ public class ResourceLoader {
      * @throws RuntimeException FXML 載入失敗。
      */
     public static Parent loadView(String resourcePath) {
-        URL resourceUrl = ResourceLoader.class.getResource(resourcePath);
-        if (resourceUrl == null) {
-            throw new IllegalArgumentException("FXML resource not found: " + resourcePath);
-        }
-        try {
-            FXMLLoader loader = new FXMLLoader(resourceUrl);
-            return loader.load();
-        } catch (IOException e) {
-            throw new RuntimeException(String.format("Failed to load FXML: %s", resourcePath), e);
-        }
+        return loadPage(resourcePath).getRoot();
+    }
+
+    /**
+     * 載入頁面 FXML 視圖，回傳已完成載入的 {@link FXMLLoader}，可從中取得根節點與 controller。
+     *
+     * @param resourcePath FXML 內部資源路徑，例如 {@code "/view/page/MainView.fxml"}。
+     * @return 已載入的 {@link FXMLLoader}。
+     * @throws IllegalArgumentException 若資源找不到。
+     * @throws RuntimeException         FXML 載入失敗。
+     */
+    public static FXMLLoader loadPage(String resourcePath) {
+        return FxmlCache.load(resourcePath, null);
     }
 
     /**
@@ -123,6 +119,37 @@ public class ResourceLoader {
         throw new IllegalArgumentException("Image resource not found: " + path);
     }
 
+    /**
+     * 以指定大小在背景載入圖片資源，解碼時直接縮小到不超過指定大小（保持比例），
+     * 不會先解碼成原始尺寸。
+     *
+     * @param path            URL、內部資源路徑、外部路徑。
+     * @param requestedWidth  最大寬度，0 表示不限制。
+     * @param requestedHeight 最大高度，0 表示不限制。
+     * @return 背景載入中的 {@link Image} 實例。
+     * @throws IllegalArgumentException 若資源找不到。
+     */
+    public static Image loadImage(String path, double requestedWidth, double requestedHeight) {
+        // URL
+        if (Misc.isUrl(path)) {
+            return new Image(path, requestedWidth, requestedHeight, true, true, true);
+        }
+
+        // 內部資源路徑
+        URL resourceUrl = ResourceLoader.class.getResource(path);
+        if (resourceUrl != null) {
+            return new Image(resourceUrl.toExternalForm(), requestedWidth, requestedHeight, true, true, true);
+        }
+
+        // 外部路徑
+        Path externalPath = Paths.get(path).toAbsolutePath();
+        if (Files.exists(externalPath)) {
+            return new Image(externalPath.toUri().toString(), requestedWidth, requestedHeight, true, true, true);
+        }
+
+        throw new IllegalArgumentException("Image resource not found: " + path);
+    }
+
     /**
      * 載入音效資源。
      *
@@ -179,6 +206,37 @@ public class ResourceLoader {
         throw new IllegalArgumentException("Media resource not found: " + path);
     }
 
+    /**
+     * 取得資源的檔案大小（位元組），用於估計快取佔用的記憶體。
+     *
+     * @param path URL、內部資源路徑、外部路徑。
+     * @return 檔案大小；無法得知（例如網路資源）時為 -1。
+     */
+    public static long getResourceSize(String path) {
+        // URL
+        if (Misc.isUrl(path)) {
+            return -1;
+        }
+
+        // 內部資源路徑
+        URL resourceUrl = ResourceLoader.class.getResource(path);
+        if (resourceUrl != null) {
+            try {
+                return resourceUrl.openConnection().getContentLengthLong();
+            } catch (IOException e) {
+                return -1;
+            }
+        }
+
+        // 外部路徑
+        Path externalPath = Paths.get(path).toAbsolutePath();
+        try {
+            return Files.size(externalPath);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
     /**
      * 載入檔案資源。
      *
@@ -207,30 +265,179 @@ public class ResourceLoader {
     }
 
     /**
-     * 載入譜面 JSON 檔案中的 note 部分。
+     * 載入完整譜面。
+     * 優先使用預先編譯的二進位譜面 ({@link BinaryChart})；若不存在或已過期，
+     * 則以串流方式解析 JSON 譜面並順便編譯出二進位譜面，供下次載入使用。
+     *
+     * @param songName 歌曲名稱
+     * @return 對應的 {@link Chart}
+     */
+    public static Chart loadChart(String songName) {
+        Path jsonPath = getChartPath(songName);
+        Chart chart;
+        if (BinaryChart.isUpToDate(jsonPath)) {
+            chart = BinaryChart.readChart(BinaryChart.toBinaryPath(jsonPath));
+        } else {
+            chart = loadChartFromJson(songName);
+            try {
+                BinaryChart.write(chart, BinaryChart.toBinaryPath(jsonPath));
+            } catch (Exception e) {
+                System.err.println("Failed to compile chart: " + songName + " - " + e.getMessage());
+            }
+        }
+        return chart;
+    }
+
+    /**
+     * 將 JSON 譜面編譯為二進位譜面。
      *
      * @param songName 歌曲名稱
-     * @return 對應的 {@link List<Note>}
+     * @throws RuntimeException 讀取或寫入失敗
      */
-    public static List<Note> loadNotes(String songName) {
-        Gson gson = new Gson();
-        Reader reader = ResourceLoader.loadFile("assets/chart/" + songName + ".json");
-        JsonObject json = gson.fromJson(reader, JsonObject.class);
-        JsonArray noteArray = json.getAsJsonArray("note");
-        Type listType = new TypeToken<List<Note>>() {
-        }.getType();
-
-        return gson.fromJson(noteArray, listType);
+    public static void compileChart(String songName) {
+        Path jsonPath = getChartPath(songName);
+        BinaryChart.write(loadChartFromJson(songName), BinaryChart.toBinaryPath(jsonPath));
     }
 
     /**
-     * 載入譜面 JSON 檔案中的 metadata 部分 (lazy loading)。
+     * 取得 JSON 譜面的外部路徑。
+     *
+     * @param songName 歌曲名稱
+     * @return JSON 譜面路徑
+     */
+    private static Path getChartPath(String songName) {
+        return Paths.get(CHART_DIR + songName + ".json");
+    }
+
+    /**
+     * 以串流方式一次讀完 JSON 譜面。
+     *
+     * @param songName 歌曲名稱
+     * @return 對應的 {@link Chart}
+     */
+    private static Chart loadChartFromJson(String songName) {
+        return parseChart(ResourceLoader.loadFile(CHART_DIR + songName + ".json"), songName);
+    }
+
+    /**
+     * 以串流方式一次讀完 JSON 譜面，讀完後會關閉 {@code reader}。
+     * 不建立 JSON 樹，也不建立 {@code Note} 物件，音符直接依音軌放進各自的 {@link NoteTable.Builder}。
+     *
+     * @param reader    JSON 譜面內容
+     * @param chartName 譜面名稱（錯誤訊息用）
+     * @return 對應的 {@link Chart}
+     * @throws RuntimeException 讀取失敗或格式不符
+     */
+    public static Chart parseChart(Reader reader, String chartName) {
+        long startNanos = System.nanoTime();
+        Song song = new Song();
+        Map<TrackType, NoteTable.Builder> builders = new EnumMap<>(TrackType.class);
+        for (TrackType type : TrackType.values()) {
+            builders.put(type, new NoteTable.Builder());
+        }
+
+        try (JsonReader jsonReader = new JsonReader(reader)) {
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                switch (jsonReader.nextName()) {
+                    case "metadata" -> readMetadata(jsonReader, song);
+                    case "note" -> readNotes(jsonReader, builders);
+                    default -> jsonReader.skipValue();
+                }
+            }
+            jsonReader.endObject();
+        } catch (IOException | RuntimeException e) {
+            throw new RuntimeException("Failed to load chart for: " + chartName, e);
+        }
+
+        Map<TrackType, NoteTable> noteTables = new EnumMap<>(TrackType.class);
+        for (Map.Entry<TrackType, NoteTable.Builder> entry : builders.entrySet()) {
+            // 已排序的音軌會跳過排序
+            noteTables.put(entry.getKey(), entry.getValue().build());
+        }
+        double loadMillis = (System.nanoTime() - startNanos) / 1_000_000.0;
+        return new Chart(song, noteTables, loadMillis);
+    }
+
+    /**
+     * 讀取 JSON 譜面中的 note 陣列，並依音軌放進對應的 {@link NoteTable.Builder}。
+     *
+     * @param jsonReader 位於 note 陣列開頭的 {@link JsonReader}
+     * @param builders   各音軌的音符表建構器
+     * @throws IOException 讀取失敗
+     */
+    private static void readNotes(JsonReader jsonReader, Map<TrackType, NoteTable.Builder> builders) throws IOException {
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            NoteType noteType = NoteType.TAP;
+            TrackType trackType = null;
+            double timestamp = 0;
+            double duration = 0;
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                switch (jsonReader.nextName()) {
+                    case "noteType" -> noteType = NoteType.fromSerializedName(jsonReader.nextString());
+                    case "trackType" -> trackType = TrackType.fromSerializedName(jsonReader.nextString());
+                    case "timestamp" -> timestamp = jsonReader.nextDouble();
+                    case "duration" -> duration = jsonReader.nextDouble();
+                    default -> jsonReader.skipValue();
+                }
+            }
+            jsonReader.endObject();
+            if (trackType == null) {
+                throw new IllegalArgumentException("Note without trackType at " + jsonReader.getPath());
+            }
+            builders.get(trackType).add(timestamp, duration, noteType);
+        }
+        jsonReader.endArray();
+    }
+
+    /**
+     * 讀取 JSON 譜面中的 metadata 物件。
+     *
+     * @param jsonReader 位於 metadata 物件開頭的 {@link JsonReader}
+     * @param song       要填入的 {@link Song}
+     * @throws IOException 讀取失敗
+     */
+    private static void readMetadata(JsonReader jsonReader, Song song) throws IOException {
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String field = jsonReader.nextName();
+            switch (field) {
+                case "songName" -> song.setSongName(jsonReader.nextString());
+                case "songAuthor" -> song.setSongAuthor(jsonReader.nextString());
+                case "songLength" -> song.setSongLength(Duration.valueOf(jsonReader.nextString()));
+                case "songImagePath" -> song.setSongImagePath(jsonReader.nextString());
+                default -> jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+    }
+
+    /**
+     * 載入譜面中的 metadata 部分 (lazy loading)。
+     * 二進位譜面可用時只讀取其檔頭。
      *
      * @param songName 歌曲名稱
      * @return 對應的 {@link Song}
      */
     public static Song loadMetadata(String songName) {
-        Reader reader = ResourceLoader.loadFile("assets/chart/" + songName + ".json");
+        Path jsonPath = getChartPath(songName);
+        if (BinaryChart.isUpToDate(jsonPath)) {
+            return BinaryChart.readMetadata(BinaryChart.toBinaryPath(jsonPath));
+        }
+        return loadMetadataFromJson(songName);
+    }
+
+    /**
+     * 載入譜面 JSON 檔案中的 metadata 部分 (lazy loading)。
+     * 讀到 metadata 後即停止，不會掃過後面的 note 陣列。
+     *
+     * @param songName 歌曲名稱
+     * @return 對應的 {@link Song}
+     */
+    private static Song loadMetadataFromJson(String songName) {
+        Reader reader = ResourceLoader.loadFile(CHART_DIR + songName + ".json");
         Song song = new Song();
 
         try (JsonReader jsonReader = new JsonReader(reader)) {
@@ -238,18 +445,8 @@ public class ResourceLoader {
             while (jsonReader.hasNext()) {
                 String name = jsonReader.nextName();
                 if (name.equals("metadata")) {
-                    jsonReader.beginObject();
-                    while (jsonReader.hasNext()) {
-                        String field = jsonReader.nextName();
-                        switch (field) {
-                            case "songName" -> song.setSongName(jsonReader.nextString());
-                            case "songAuthor" -> song.setSongAuthor(jsonReader.nextString());
-                            case "songLength" -> song.setSongLength(Duration.valueOf(jsonReader.nextString()));
-                            case "songImagePath" -> song.setSongImagePath(jsonReader.nextString());
-                            default -> jsonReader.skipValue();
-                        }
-                    }
-                    jsonReader.endObject();
+                    readMetadata(jsonReader, song);
+                    break;
                 } else {
                     jsonReader.skipValue();
                 }
@@ -262,33 +459,13 @@ public class ResourceLoader {
     }
 
     /**
-     * 載入所有譜面 JSON 檔案中的 metadata 部分 (lazy loading)。
+     * 載入所有譜面的 metadata。透過 {@link MetadataIndex} 重新掃描譜面目錄，只重新解析有變動的譜面。
      *
      * @return {@code List<Song>}
      */
     public static List<Song> loadAllMetadata() {
-        List<Song> songs = new ArrayList<>();
-        Path chartDir = Paths.get("assets/chart/");
-
-        try (Stream<Path> files = Files.walk(chartDir)) {
-            List<String> jsonFiles = files
-                    .filter(Files::isRegularFile)
-                    .filter(path -> path.toString().endsWith(".json"))
-                    .map(path -> path.getFileName().toString())
-                    .map(fileName -> fileName.substring(0, fileName.lastIndexOf('.'))) // remove ext
-                    .toList();
-            for (String songName : jsonFiles) {
-                try {
-                    Song song = loadMetadata(songName);
-                    songs.add(song);
-                } catch (Exception e) {
-                    System.err.println("Failed to load song: " + songName + " - " + e.getMessage());
-                }
-            }
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to scan directory: " + chartDir, e);
-        }
-
-        return songs;
+        MetadataIndex metadataIndex = MetadataIndex.getInstance();
+        metadataIndex.refresh();
+        return metadataIndex.getSongs();
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package org.notiva.beatrush.core;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import javafx.application.Platform;
 import javafx.beans.property.ObjectProperty;
@@ -11,19 +12,67 @@ import org.notiva.beatrush.component.TrackView;
 import org.notiva.beatrush.util.*;
 
 
+/**
+ * <h2>節奏遊戲管理器</h2>
+ * <p>
+ * 遊戲邏輯（按鍵判定、音符出現、漏接判定、計分）在 {@link SimulationLoop} 的專用執行緒上以固定頻率推進，
+ * 每個 tick 把狀態寫入 {@link GameSnapshot} 並經由 {@link SnapshotBuffer} 發布；
+ * JavaFX Application Thread 每個 pulse 只取最新的快照繪製音軌與更新分數顯示，
+ * 因此畫面更新的延遲不會影響判定時機。
+ * </p>
+ */
 public class RhythmGameManager {
     private static double delayTimeMs;
 
     private final Map<TrackType, TrackView> trackViewMap = new EnumMap<>(TrackType.class);
     private final List<Runnable> endHooks = new ArrayList<>();
-    private final MediaManager mediaManager = MediaManager.getInstance();
     private final ScoreManager scoreManager = ScoreManager.getInstance(); // 新增 ScoreManager 實例
     private final StageManager stageManager = StageManager.getInstance(); // 新增 StageManager 實例
+    private final InputManager inputManager = InputManager.getInstance();
+    private final MediaManager mediaManager = MediaManager.getInstance();
+    private final SongPreloader songPreloader = SongPreloader.getInstance();
+    private final SimulationLoop simulationLoop = new SimulationLoop(GameSetting.Timing.SIMULATION_TICK_HZ);
+    private final InputManager.KeyHandler keyHandler = new InputManager.KeyHandler() {
+        @Override
+        public void onPress(TrackType trackType, long nanoTime) {
+            handlePress(trackType, nanoTime);
+        }
+
+        @Override
+        public void onRelease(TrackType trackType, long nanoTime) {
+            handleRelease(trackType, nanoTime);
+        }
+    };
 
     private final ObjectProperty<Song> currentSong = new SimpleObjectProperty<>();
 
     private DelayedMusicPlayer delayedMusicPlayer;
 
+    /**
+     * 模擬執行緒發布給畫面的快照，每次開始遊戲時重新建立
+     */
+    private SnapshotBuffer<GameSnapshot> snapshots = new SnapshotBuffer<>(GameSnapshot::new);
+
+    /**
+     * 模擬 tick 序號 (只在模擬執行緒上使用)
+     */
+    private long simulationTick = 0;
+
+    /**
+     * 是否已經 Game Over (只在模擬執行緒上使用)
+     */
+    private boolean gameOver = false;
+
+    /**
+     * 延遲音樂播放器載入完成（播放器已 READY 並 pre-roll）的結果
+     */
+    private CompletableFuture<DelayedMusicPlayer> delayedMusicPlayerReady;
+
+    /**
+     * 目前歌曲的預載結果
+     */
+    private SongBundle songBundle;
+
     private static class Holder {
         private static final RhythmGameManager INSTANCE = new RhythmGameManager();
     }
@@ -48,7 +97,43 @@ public class RhythmGameManager {
      * 開始遊戲。
      */
     public void start() {
-        delayedMusicPlayer.play();
+        // 排在音軌佈局之後 (在 Platform.runLater 中完成)，並等待音樂播放器準備完成
+        Platform.runLater(() -> delayedMusicPlayerReady.whenComplete((player, error) -> {
+            // 音樂播放器準備失敗，回到選歌頁面
+            if (error != null) {
+                stageManager.showStage("BeatRush", "/view/page/SongSelectPage.fxml");
+                return;
+            }
+            // 預熱音軌繪製器，避免播放途中才建立音符元件
+            for (TrackView trackView : trackViewMap.values()) {
+                trackView.warmUp();
+            }
+            // 上一輪的模擬若仍在執行則先停止
+            simulationLoop.stop();
+            // 丟棄開始前殘留的按鍵
+            inputManager.clear();
+            inputManager.resetStats();
+            snapshots = new SnapshotBuffer<>(GameSnapshot::new);
+            simulationTick = 0;
+            gameOver = false;
+            player.play();
+            simulationLoop.start(nanoTime -> simulate(player, nanoTime), error -> Platform.runLater(this::abort));
+        }));
+    }
+
+    /**
+     * 離開目前歌曲：停止並釋放音樂播放器，之後再選同一首歌也會重新載入。
+     */
+    public void leaveSong() {
+        simulationLoop.stop();
+        if (delayedMusicPlayer != null) {
+            delayedMusicPlayer.getTimer().stop();
+            delayedMusicPlayer = null;
+        }
+        delayedMusicPlayerReady = null;
+        mediaManager.releaseSongPlayer();
+        songBundle = null;
+        currentSong.set(null);
     }
 
     /**
@@ -62,6 +147,8 @@ public class RhythmGameManager {
      * 結束遊戲。
      */
     public void end() {
+        // 等模擬執行緒停止後，分數才不會再變動
+        simulationLoop.stop();
         for (Runnable hook : endHooks) {
             hook.run();
         }
@@ -82,14 +169,59 @@ public class RhythmGameManager {
     }
 
     /**
-     * 處理鍵盤按下事件。
+     * 處理鍵盤按下事件：只打上時間戳並排入佇列，判定在模擬執行緒的下一個 tick 進行。
+     *
+     * @return 若按鍵對應到音軌則為 true
+     */
+    public boolean handleKeyPressed(KeyEvent event) {
+        return inputManager.onKeyPressed(event);
+    }
+
+    /**
+     * 處理鍵盤放開事件：只打上時間戳並排入佇列，判定在模擬執行緒的下一個 tick 進行。
+     *
+     * @return 若按鍵對應到音軌則為 true
+     */
+    public boolean handleKeyReleased(KeyEvent event) {
+        return inputManager.onKeyReleased(event);
+    }
+
+    /**
+     * 處理失去鍵盤焦點：之後收不到放開事件，因此放開所有按住中的音軌，判定在模擬執行緒的下一個 tick 進行。
+     */
+    public void handleFocusLost() {
+        inputManager.releaseAll();
+    }
+
+    /**
+     * 判定一次按鍵。
+     *
+     * @param trackType 按下的音軌。
+     * @param nanoTime  按下當下的 {@link System#nanoTime()}。
+     */
+    private void handlePress(TrackType trackType, long nanoTime) {
+        TrackView trackView = trackViewMap.get(trackType);
+        if (trackView != null && delayedMusicPlayer != null) {
+            // 以按鍵按下當下的遊戲時間判定，而非處理時或上一幀的時間
+            double hitMillis = delayedMusicPlayer.estimateGameMillis(nanoTime);
+            if (!Double.isNaN(hitMillis)) {
+                trackView.hit(hitMillis);
+            }
+        }
+    }
+
+    /**
+     * 處理一次放開（結束長按）。
+     *
+     * @param trackType 放開的音軌。
+     * @param nanoTime  放開當下的 {@link System#nanoTime()}。
      */
-    public void handleKeyPressed(KeyEvent event) {
-        TrackType trackType = GameSetting.Control.KEY_TO_TRACK.get(event.getCode());
-        if (trackType != null) {
-            TrackView trackView = trackViewMap.get(trackType);
-            if (trackView != null) {
-                trackView.removeClosestNote();
+    private void handleRelease(TrackType trackType, long nanoTime) {
+        TrackView trackView = trackViewMap.get(trackType);
+        if (trackView != null && delayedMusicPlayer != null) {
+            double releaseMillis = delayedMusicPlayer.estimateGameMillis(nanoTime);
+            if (!Double.isNaN(releaseMillis)) {
+                trackView.release(releaseMillis);
             }
         }
     }
@@ -100,103 +232,183 @@ public class RhythmGameManager {
     private void bindProperty() {
         // 歌曲 -> 載入 trackViewMap 與 delayedMusicPlayer
         currentSong.addListener((observable, oldVal, newVal) -> {
+            // 離開歌曲
+            if (newVal == null) {
+                return;
+            }
             // 歌名不同才重載 (因為玩家有可能 replay)
             if (oldVal == null || !oldVal.getSongName().equals(newVal.getSongName())) {
-                // 先載入 TrackView，算好 delayTime
-                loadTrackView(newVal.getSongName());
-                // 根據 delayTime，決定延遲多久播放
-                loadDelayedMusicPlayer(newVal.getSongFilePath());
+                if (songBundle != null && songBundle.getSong() == newVal) {
+                    // 先載入 TrackView，算好 delayTime 後，再根據 delayTime 決定延遲多久播放
+                    loadTrackView(songBundle);
+                    return;
+                }
+                // 沒有經過預載時在背景載入，完成後才在 JavaFX Application Thread 上載入 TrackView，不阻塞 UI 執行緒
+                songPreloader.preload(newVal).whenCompleteAsync((bundle, error) -> {
+                    if (error != null) {
+                        System.err.println("Failed to load song: " + newVal.getSongName() + " - " + error.getMessage());
+                        return;
+                    }
+                    // 載入期間已換歌或離開歌曲
+                    if (currentSong.get() != newVal) {
+                        return;
+                    }
+                    songBundle = bundle;
+                    loadTrackView(bundle);
+                }, Platform::runLater);
             }
         });
     }
 
     /**
-     * 遊戲主更新函式，會根據經過時間更新所有音軌。
+     * 模擬一個 tick：推進到此刻的遊戲時間，判定這段期間的按鍵、推進所有音軌，並發布快照。在模擬執行緒上呼叫。
      *
-     * @param elapsedMillis 經過的時間（ms）。
+     * @param player   遊戲時間來源的音樂播放器。
+     * @param nanoTime tick 開始時的 {@link System#nanoTime()}。
      */
-    private void updateGame(double elapsedMillis) {
+    private void simulate(DelayedMusicPlayer player, long nanoTime) {
+        double gameMillis = player.estimateGameMillis(nanoTime);
+        // 計時器尚未開始 (或已停止)
+        if (Double.isNaN(gameMillis)) {
+            return;
+        }
+
+        // 先判定這個 tick 之前的按鍵，再移除超過判定時間的音符
+        inputManager.dispatch(keyHandler);
+
         for (TrackView trackView : trackViewMap.values()) {
-            trackView.update(elapsedMillis);
+            trackView.update(gameMillis);
         }
 
         // 檢查 missCount
-        if (scoreManager.getCurrentScore().getMissCount() > 100) {
-            if (delayedMusicPlayer != null && delayedMusicPlayer.isPlaying()) {
-                // 清除 end hook，避免跳轉到 ScorePage
-                clearEndHooks();
-                // 停止計時器
-                delayedMusicPlayer.getTimer().stop();
-                // 停止音樂
-                delayedMusicPlayer.stop();
-                // 跳轉到 GameOverPage
-                // 需要在 JavaFX Application Thread 中執行 UI 更新
-                Platform.runLater(() -> stageManager.showStage("BeatRush", "/view/page/GameOverPage.fxml"));
-            }
+        if (!gameOver && scoreManager.getCurrentScore().getMissCount() > 100) {
+            gameOver = true;
+            // 需要在 JavaFX Application Thread 中停止音樂並跳轉頁面
+            Platform.runLater(this::gameOver);
+        }
+
+        // 發布這個 tick 的狀態
+        GameSnapshot snapshot = snapshots.getWriteBuffer();
+        snapshot.setTime(++simulationTick, gameMillis);
+        for (TrackView trackView : trackViewMap.values()) {
+            trackView.writeSnapshot(snapshot);
         }
+        scoreManager.writeSnapshot(snapshot);
+        snapshots.publish();
     }
 
     /**
-     * 載入延遲播放的音樂播放器。
+     * 畫面更新函式，每個 pulse 呼叫一次：依模擬執行緒最新的快照繪製所有音軌，並同步分數顯示。
      *
-     * @param songFilePath 音檔路徑。
+     * @param elapsedMillis 這一幀的遊戲時間（ms）。
+     */
+    private void renderGame(double elapsedMillis) {
+        GameSnapshot snapshot = snapshots.acquire();
+        if (!snapshot.isWritten()) {
+            return;
+        }
+        for (TrackView trackView : trackViewMap.values()) {
+            trackView.render(snapshot, elapsedMillis);
+        }
+        // 這一幀的計分結果一次同步到畫面
+        scoreManager.publish(snapshot);
+    }
+
+    /**
+     * Game Over：停止模擬與音樂，跳轉到 GameOverPage。
+     */
+    private void gameOver() {
+        if (delayedMusicPlayer == null || !delayedMusicPlayer.isPlaying()) {
+            return;
+        }
+        simulationLoop.stop();
+        // 清除 end hook，避免跳轉到 ScorePage
+        clearEndHooks();
+        // 停止計時器
+        delayedMusicPlayer.getTimer().stop();
+        // 停止音樂
+        delayedMusicPlayer.stop();
+        // 跳轉到 GameOverPage
+        stageManager.showStage("BeatRush", "/view/page/GameOverPage.fxml");
+    }
+
+    /**
+     * 模擬出錯而中止遊戲：停止計時器與音樂，回到選歌頁面（不跳轉到 ScorePage）。
      */
-    private void loadDelayedMusicPlayer(String songFilePath) {
-        MediaPlayer mediaPlayer = mediaManager.getMediaPlayer(songFilePath);
-        delayedMusicPlayer = new DelayedMusicPlayer(mediaPlayer, delayTimeMs);
-        // 音樂播放時，會不斷呼叫 updateGame
-        delayedMusicPlayer.setUpdateListener(this::updateGame);
+    private void abort() {
+        if (delayedMusicPlayer == null) {
+            return;
+        }
+        simulationLoop.stop();
+        clearEndHooks();
+        delayedMusicPlayer.getTimer().stop();
+        delayedMusicPlayer.stop();
+        stageManager.showStage("BeatRush", "/view/page/SongSelectPage.fxml");
+    }
+
+    /**
+     * 準備歌曲的音樂播放器，準備完成後建立延遲播放的音樂播放器。
+     *
+     * @param bundle 預載完成的歌曲。
+     */
+    private void loadDelayedMusicPlayer(SongBundle bundle) {
+        delayedMusicPlayerReady = mediaManager.prepareSongPlayer(bundle.getMedia())
+                .thenApply(this::createDelayedMusicPlayer);
+        delayedMusicPlayerReady.exceptionally(e -> {
+            System.err.println("Failed to prepare song player: " + bundle.getSong().getSongName() + " - " + e.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * 以準備完成的播放器建立延遲播放的音樂播放器。
+     *
+     * @param mediaPlayer 已 READY 的播放器。
+     * @return 延遲播放的音樂播放器。
+     */
+    private DelayedMusicPlayer createDelayedMusicPlayer(MediaPlayer mediaPlayer) {
+        TimeSource timeSource = GameSetting.Timing.AUDIO_SYNC
+                ? new AudioSyncedTimeSource(mediaPlayer, delayTimeMs)
+                : new TimerTimeSource();
+        delayedMusicPlayer = new DelayedMusicPlayer(mediaPlayer, delayTimeMs, timeSource);
+        // 音樂播放時，每個 pulse 依最新的快照繪製
+        delayedMusicPlayer.setUpdateListener(this::renderGame);
         // 設定音樂播放音量
         delayedMusicPlayer.getMediaPlayer().setVolume(GameSetting.Audio.SONG_VOLUME_RATIO);
         // 音樂播放結束時，結束遊戲
         delayedMusicPlayer.addEndOfMediaListener(this::end);
+        return delayedMusicPlayer;
     }
 
     /**
-     * 載入指定歌曲的音軌元件。
+     * 載入指定歌曲的音軌元件，並在音軌佈局確定後載入音樂播放器。
      *
-     * @param songName 歌曲名稱。
+     * @param bundle 預載完成的歌曲。
      */
-    private void loadTrackView(String songName) {
-        List<Track> tracks = loadTrack(songName);
+    private void loadTrackView(SongBundle bundle) {
+        List<Track> tracks = loadTrack(bundle.getChart());
         for (Track track : tracks) {
             trackViewMap.put(track.getTrackType(), new TrackView(track));
         }
         Platform.runLater(() -> {
             // 隨便找一個音軌的尺寸點計算下落延遲
             delayTimeMs = trackViewMap.get(TrackType.LEFT).calculateDelayTimeMs();
+            // 根據 delayTime，決定延遲多久播放
+            loadDelayedMusicPlayer(bundle);
         });
     }
 
     /**
-     * 根據歌曲名稱載入音軌。
+     * 根據譜面建立音軌。
      *
-     * @param songName 歌曲名稱。
-     * @return 載入的音軌列表。
+     * @param chart 譜面。
+     * @return 建立的音軌列表。
      */
-    private List<Track> loadTrack(String songName) {
-        List<Note> notes = ResourceLoader.loadNotes(songName);
-
-        Map<TrackType, List<Note>> grouped = new EnumMap<>(TrackType.class);
-
-        for (TrackType type : TrackType.values()) {
-            grouped.put(type, new ArrayList<>());
-        }
-
-        for (Note note : notes) {
-            grouped.get(note.getTrackType()).add(note);
-        }
-
-        for (List<Note> trackNotes : grouped.values()) {
-            trackNotes.sort(Comparator.comparingDouble(Note::getTimestamp));
-        }
-
+    private List<Track> loadTrack(Chart chart) {
         List<Track> tracks = new ArrayList<>();
 
-        for (Map.Entry<TrackType, List<Note>> entry : grouped.entrySet()) {
-            TrackType trackType = entry.getKey();
-            List<Note> trackNotes = entry.getValue();
-            tracks.add(new Track(trackType, trackNotes));
+        for (Map.Entry<TrackType, NoteTable> entry : chart.getNoteTables().entrySet()) {
+            tracks.add(new Track(entry.getKey(), entry.getValue()));
         }
 
         return tracks;
@@ -222,7 +434,8 @@ public class RhythmGameManager {
     }
 
     /**
-     * 設定目前歌曲。
+     * 設定目前歌曲。若該歌曲尚未預載，會在背景載入，完成後才建立音軌元件；
+     * 需要立即開始遊戲時應先預載，改用 {@link #setSongBundle(SongBundle)}。
      *
      * @param song 欲設定的歌曲。
      */
@@ -230,6 +443,16 @@ public class RhythmGameManager {
         currentSong.set(song);
     }
 
+    /**
+     * 以預載完成的歌曲設定目前歌曲，載入時不需再讀取譜面與音樂。
+     *
+     * @param bundle 預載完成的歌曲。
+     */
+    public void setSongBundle(SongBundle bundle) {
+        songBundle = bundle;
+        currentSong.set(bundle.getSong());
+    }
+
 
     /**
      * 取得目前歌曲屬性。
@@ -1,17 +1,59 @@
 package org.notiva.beatrush.core;
 
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.LongProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
+import org.notiva.beatrush.util.GameSnapshot;
 import org.notiva.beatrush.util.JudgementLevel;
+import org.notiva.beatrush.util.JudgementProfile;
+import org.notiva.beatrush.util.JudgementTable;
 import org.notiva.beatrush.util.Score;
 
 /**
  * <h2>評分管理器</h2>
+ * <p>
+ * 計分只更新 {@link Score} 的基本型別欄位與最後一次評分，不觸發任何屬性通知，
+ * 因此計分成本與畫面綁定了多少監聽器無關。
+ * 畫面用的屬性由 {@link #publish(GameSnapshot)} 每幀同步一次：同一幀內的多次計分只會通知一次，數值沒變則不通知。
+ * 相同評分連續出現時評分名稱不會變，需要每次評分都觸發的動畫應監聽 {@link #judgementSerialProperty()}。
+ * </p>
+ *
+ * <p>
+ * 遊戲中計分在模擬執行緒上進行，分數經由 {@link #writeSnapshot(GameSnapshot)} 寫入快照交給畫面；
+ * {@link #getCurrentScore()} 只應在模擬停止後讀取。
+ * </p>
  */
 public class ScoreManager {
     private final Score currentScore = new Score();
+
+    /**
+     * 目前使用的判定表（切換難度時整個替換）
+     */
+    private JudgementTable judgementTable = new JudgementTable(GameSetting.JudgmentWindow.DEFAULT_PROFILE);
+
+    /**
+     * 最後一次評分（尚未有評分時為 null）
+     */
+    private JudgementLevel lastJudgement = null;
+
+    /**
+     * 評分次數，用於判斷是否有新的評分需要發布（相同評分連續出現也要觸發動畫）
+     */
+    private long judgementSerial = 0;
+
+    // 發布給畫面的屬性，只在 publish(GameSnapshot) 中更新
+    private final IntegerProperty totalScore = new SimpleIntegerProperty(0);
+    private final IntegerProperty combo = new SimpleIntegerProperty(0);
     private final StringProperty currentJudgementText = new SimpleStringProperty("");
 
+    /**
+     * 已發布的評分次數，每次有新的評分發布就會改變
+     */
+    private final LongProperty publishedJudgementSerial = new SimpleLongProperty(0);
+
     private static class Holder {
         private static final ScoreManager INSTANCE = new ScoreManager();
     }
@@ -24,34 +66,37 @@ public class ScoreManager {
     }
 
     /**
-     * 根據時間差計算評分
+     * 建構獨立的評分管理器（例如無畫面模擬用），遊戲中請使用 {@link #getInstance()}
+     */
+    public ScoreManager() {
+    }
+
+    /**
+     * 根據時間差計算評分（查詢目前的判定表，不配置物件）
      *
      * @param timingDifference 時間差（毫秒），負數表示提前，正數表示延遲
      * @return 評分等級
      */
     public JudgementLevel calculateJudgement(double timingDifference) {
-        if (timingDifference >= GameSetting.JudgmentWindow.PERFECT_MIN_MS &&
-                timingDifference <= GameSetting.JudgmentWindow.PERFECT_MAX_MS) {
-            return JudgementLevel.PERFECT;
-        }
-
-        if (timingDifference >= GameSetting.JudgmentWindow.GREAT_MIN_MS &&
-                timingDifference <= GameSetting.JudgmentWindow.GREAT_MAX_MS) {
-            return JudgementLevel.GREAT;
-        }
-
-        if (timingDifference >= GameSetting.JudgmentWindow.GOOD_MIN_MS &&
-                timingDifference <= GameSetting.JudgmentWindow.GOOD_MAX_MS) {
-            return JudgementLevel.GOOD;
-        }
+        return judgementTable.judge(timingDifference);
+    }
 
-        if (timingDifference >= GameSetting.JudgmentWindow.BAD_MIN_MS &&
-                timingDifference <= GameSetting.JudgmentWindow.BAD_MAX_MS) {
-            return JudgementLevel.BAD;
+    /**
+     * 切換判定區間預設（難度），應在遊戲開始前呼叫
+     *
+     * @param profile 判定區間預設
+     */
+    public void setJudgementProfile(JudgementProfile profile) {
+        if (judgementTable.getProfile() != profile) {
+            judgementTable = new JudgementTable(profile);
         }
+    }
 
-        // 超出所有範圍則為 Miss
-        return JudgementLevel.MISS;
+    /**
+     * 取得目前使用的判定表
+     */
+    public JudgementTable getJudgementTable() {
+        return judgementTable;
     }
 
     /**
@@ -60,9 +105,8 @@ public class ScoreManager {
      * @param judgement 評分等級
      */
     public void addScore(JudgementLevel judgement) {
-        // 更新評分等級名稱
-        currentJudgementText.set(null); // 為了確保每個 judgement 都能觸發外部 addListener 的新值替換 (做動畫時需要)
-        currentJudgementText.set(judgement.getDisplayName());
+        // 記錄評分等級 (於 publish 時更新名稱)
+        recordJudgement(judgement);
         // 基礎分數
         int baseScore = judgement.getScore();
         // 連擊分數 (每 ? 連擊，此次增加額外分數，一次最多 ? 分)
@@ -82,11 +126,72 @@ public class ScoreManager {
     }
 
     /**
-     * 重置所有分數和統計
+     * 長按期間的一次計分（不計入各等級統計）
+     */
+    public void addHoldTick() {
+        currentScore.addScore(GameSetting.Score.HOLD_TICK_SCORE);
+        currentScore.setCombo(currentScore.getCombo() + 1);
+    }
+
+    /**
+     * 長按提早放開，中斷連擊（音符頭已計入統計，因此不再計入 Miss）
+     */
+    public void breakHold() {
+        recordJudgement(JudgementLevel.MISS);
+        currentScore.setCombo(0);
+    }
+
+    /**
+     * 記錄最後一次評分
+     *
+     * @param judgement 評分等級
+     */
+    private void recordJudgement(JudgementLevel judgement) {
+        lastJudgement = judgement;
+        judgementSerial++;
+    }
+
+    /**
+     * 將目前的分數與最後一次評分寫入快照，應在計分的執行緒（模擬執行緒）上呼叫。
+     *
+     * @param snapshot 要寫入的快照
+     */
+    public void writeSnapshot(GameSnapshot snapshot) {
+        snapshot.setScore(currentScore.getTotalScore(), currentScore.getCombo(), currentScore.getMissCount(),
+                lastJudgement, judgementSerial);
+    }
+
+    /**
+     * 將快照中的分數與最後一次評分同步到畫面用的屬性，應在 JavaFX Application Thread 上每幀呼叫一次。
+     * 數值沒有變化的屬性不會被設定，因此不會觸發通知。
+     *
+     * @param snapshot 模擬執行緒發布的快照
+     */
+    public void publish(GameSnapshot snapshot) {
+        totalScore.set(snapshot.getTotalScore());
+        combo.set(snapshot.getCombo());
+        if (publishedJudgementSerial.get() != snapshot.getJudgementSerial()) {
+            JudgementLevel judgement = snapshot.getLastJudgement();
+            String text = judgement == null ? "" : judgement.getDisplayName();
+            if (!text.equals(currentJudgementText.get())) {
+                currentJudgementText.set(text);
+            }
+            // 名稱先更新，監聽評分次數的動畫才會顯示這次的評分
+            publishedJudgementSerial.set(snapshot.getJudgementSerial());
+        }
+    }
+
+    /**
+     * 重置所有分數和統計，並立即發布
      */
     public void reset() {
         currentScore.reset();
+        lastJudgement = null;
+        judgementSerial = 0;
+        totalScore.set(0);
+        combo.set(0);
         currentJudgementText.set("");
+        publishedJudgementSerial.set(0);
     }
 
     /**
@@ -104,14 +209,44 @@ public class ScoreManager {
     }
 
     /**
-     * 取得當前評分等級名稱屬性
+     * 取得已發布的總分屬性
+     */
+    public IntegerProperty totalScoreProperty() {
+        return totalScore;
+    }
+
+    /**
+     * 取得已發布的連擊數屬性
+     */
+    public IntegerProperty comboProperty() {
+        return combo;
+    }
+
+    /**
+     * 取得最後一次評分
+     *
+     * @return 評分等級；尚未有評分時為 null
+     */
+    public JudgementLevel getLastJudgement() {
+        return lastJudgement;
+    }
+
+    /**
+     * 取得已發布的評分等級名稱屬性
      */
     public StringProperty currentJudgementTextProperty() {
         return currentJudgementText;
     }
 
     /**
-     * 取得當前評分等級名稱
+     * 取得已發布的評分次數屬性（每次有新的評分發布就會改變，重置時歸零）
+     */
+    public LongProperty judgementSerialProperty() {
+        return publishedJudgementSerial;
+    }
+
+    /**
+     * 取得已發布的評分等級名稱
      */
     public String getCurrentJudgementText() {
         return currentJudgementText.get();
@@ -0,0 +1,205 @@
+package org.notiva.beatrush.core;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * <h2>模擬迴圈</h2>
+ * <p>
+ * 在專用的執行緒上以固定頻率呼叫 tick，讓判定、計分等遊戲邏輯不受 JavaFX 畫面更新（layout、CSS、繪製）的延遲影響。
+ * 每個 tick 收到當下的 {@link System#nanoTime()}，應以此推進到當下的遊戲時間；
+ * 因此某個 tick 遲到時不會補跑錯過的 tick，而是從當下重新排程。
+ * tick 拋出例外時迴圈會自行停止，並在模擬執行緒上通知錯誤處理函式。
+ * </p>
+ *
+ * <p>
+ * 同時統計 tick 的執行時間與遲到次數，可透過 {@link #toString()} 查看。
+ * 統計只應在迴圈停止後讀取。
+ * </p>
+ *
+ * <p>使用範例：</p>
+ * <pre>{@code
+ * SimulationLoop loop = new SimulationLoop(1000);
+ * loop.start(nanoTime -> simulate(nanoTime), error -> Platform.runLater(this::abort));
+ * ...
+ * loop.stop();
+ * }</pre>
+ */
+public class SimulationLoop {
+
+    /** 每個 tick 的間隔（ns） */
+    private final long periodNanos;
+
+    /** 模擬執行緒，未執行時為 null（只在持有此物件的鎖時修改） */
+    private volatile Thread thread;
+
+    /** 模擬執行緒是否應繼續執行 */
+    private volatile boolean running = false;
+
+    /** 已執行的 tick 數 */
+    private long tickCount = 0;
+
+    /** 遲到（超過排定時間才開始）的 tick 數 */
+    private long lateTickCount = 0;
+
+    /** tick 執行時間總和（ns） */
+    private long totalTickNanos = 0;
+
+    /** 最長的 tick 執行時間（ns） */
+    private long maxTickNanos = 0;
+
+    /**
+     * 建構模擬迴圈。
+     *
+     * @param tickHz 每秒的 tick 數
+     * @throws IllegalArgumentException tickHz 不是正數
+     */
+    public SimulationLoop(int tickHz) {
+        if (tickHz <= 0) {
+            throw new IllegalArgumentException("Tick rate must be positive: " + tickHz);
+        }
+        this.periodNanos = 1_000_000_000L / tickHz;
+    }
+
+    /**
+     * 啟動模擬執行緒，並重置統計。
+     *
+     * @param tick    每個 tick 呼叫的函式，參數為 tick 開始時的 {@link System#nanoTime()}
+     * @param onError tick 拋出例外、迴圈停止後呼叫的函式（在模擬執行緒上呼叫）
+     * @throws IllegalStateException 迴圈已在執行
+     */
+    public synchronized void start(LongConsumer tick, Consumer<RuntimeException> onError) {
+        if (thread != null) {
+            throw new IllegalStateException("Simulation loop is already running");
+        }
+        tickCount = 0;
+        lateTickCount = 0;
+        totalTickNanos = 0;
+        maxTickNanos = 0;
+        running = true;
+        thread = new Thread(() -> run(tick, onError), "simulation");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * 停止模擬執行緒並等待目前的 tick 執行完畢，之後讀取模擬狀態是安全的。
+     * 迴圈未執行時不做任何事。
+     */
+    public void stop() {
+        Thread current;
+        synchronized (this) {
+            current = thread;
+            if (current == null) {
+                return;
+            }
+            thread = null;
+            running = false;
+        }
+        LockSupport.unpark(current);
+        if (current == Thread.currentThread()) {
+            return;
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                current.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 檢查迴圈是否正在執行。
+     *
+     * @return 若正在執行則為 true
+     */
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    /**
+     * 模擬執行緒的主迴圈。
+     *
+     * @param tick    每個 tick 呼叫的函式
+     * @param onError tick 拋出例外時呼叫的函式
+     */
+    private void run(LongConsumer tick, Consumer<RuntimeException> onError) {
+        long nextTickNanos = System.nanoTime();
+        while (running) {
+            long startNanos = System.nanoTime();
+            try {
+                tick.accept(startNanos);
+            } catch (RuntimeException e) {
+                // 遊戲邏輯出錯時停止模擬，避免每個 tick 重複同樣的錯誤
+                System.err.println("Simulation stopped by error: " + e);
+                synchronized (this) {
+                    // 迴圈可能已被 stop() 停止並重新啟動，此時不能動到新的執行緒
+                    if (thread == Thread.currentThread()) {
+                        thread = null;
+                        running = false;
+                    }
+                }
+                onError.accept(e);
+                break;
+            }
+            long tickNanos = System.nanoTime() - startNanos;
+            tickCount++;
+            totalTickNanos += tickNanos;
+            maxTickNanos = Math.max(maxTickNanos, tickNanos);
+
+            nextTickNanos += periodNanos;
+            long now = System.nanoTime();
+            if (now - nextTickNanos > periodNanos) {
+                // 落後超過一個 tick：不補跑，從當下重新排程
+                lateTickCount++;
+                nextTickNanos = now;
+            }
+            long remainingNanos;
+            while (running && (remainingNanos = nextTickNanos - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, remainingNanos);
+            }
+        }
+    }
+
+    /**
+     * 取得已執行的 tick 數。
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * 取得遲到的 tick 數。
+     */
+    public long getLateTickCount() {
+        return lateTickCount;
+    }
+
+    /**
+     * 取得平均 tick 執行時間（ms）。
+     */
+    public double getAverageTickMillis() {
+        return tickCount == 0 ? 0 : totalTickNanos / (double) tickCount / 1_000_000.0;
+    }
+
+    /**
+     * 取得最長 tick 執行時間（ms）。
+     */
+    public double getMaxTickMillis() {
+        return maxTickNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SimulationLoop{rate=%dHz, ticks=%d, late=%d, tickAvg=%.3fms, tickMax=%.3fms}",
+                1_000_000_000L / periodNanos, tickCount, lateTickCount, getAverageTickMillis(), getMaxTickMillis());
+    }
+}
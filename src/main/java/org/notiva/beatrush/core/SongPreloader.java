@@ -0,0 +1,100 @@
+package org.notiva.beatrush.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.notiva.beatrush.util.Chart;
+import org.notiva.beatrush.util.Song;
+import org.notiva.beatrush.util.SongBundle;
+
+/**
+ * <h2>歌曲預載器</h2>
+ * <p>
+ * 在背景（virtual thread）解析譜面並建立 {@code Media}，讓選歌頁面在使用者停留在歌曲卡片上或打開歌曲資訊時就先開始載入，
+ * 進入遊戲時直接取得 {@link SongBundle}，不在 JavaFX Application Thread 上等待 I/O。
+ * </p>
+ *
+ * <p>
+ * 同一首歌同時只會載入一次：重複呼叫 {@link #preload(Song)} 會取得同一個 {@link CompletableFuture}。
+ * 最近預載的 {@link GameSetting.Preload#MAX_PRELOADED_SONGS} 首歌會保留在快取中，載入失敗的則會移除，下次重新載入。
+ * </p>
+ *
+ * <p>使用範例：</p>
+ * <pre>{@code
+ * songPreloader.preload(song)
+ *         .thenAcceptAsync(bundle -> rhythmGameManager.setSongBundle(bundle), Platform::runLater);
+ * }</pre>
+ */
+public class SongPreloader {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * 以歌名為鍵的預載結果，依存取順序排列（最舊的在前）
+     */
+    private final Map<String, CompletableFuture<SongBundle>> bundles = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<SongBundle>> eldest) {
+            return size() > GameSetting.Preload.MAX_PRELOADED_SONGS;
+        }
+    };
+
+    private final MediaManager mediaManager = MediaManager.getInstance();
+
+    private static class Holder {
+        private static final SongPreloader INSTANCE = new SongPreloader();
+    }
+
+    /**
+     * 取得 {@link SongPreloader} 的唯一實例。
+     *
+     * @return 全域唯一的 {@link SongPreloader} 實例。
+     */
+    public static SongPreloader getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private SongPreloader() {
+    }
+
+    /**
+     * 開始（或沿用）指定歌曲的背景預載。
+     *
+     * @param song 歌曲
+     * @return 預載結果，完成時為可直接遊玩的 {@link SongBundle}
+     */
+    public CompletableFuture<SongBundle> preload(Song song) {
+        synchronized (bundles) {
+            CompletableFuture<SongBundle> future = bundles.get(song.getSongName());
+            if (future == null) {
+                future = CompletableFuture.supplyAsync(() -> load(song), executor);
+                bundles.put(song.getSongName(), future);
+                CompletableFuture<SongBundle> loading = future;
+                // 失敗的結果不保留，下次重新載入
+                future.whenComplete((bundle, e) -> {
+                    if (e != null) {
+                        System.err.println("Failed to preload song: " + song.getSongName() + " - " + e.getMessage());
+                        synchronized (bundles) {
+                            bundles.remove(song.getSongName(), loading);
+                        }
+                    }
+                });
+            }
+            return future;
+        }
+    }
+
+    /**
+     * 載入指定歌曲的譜面與音樂（在背景執行緒上執行）。
+     *
+     * @param song 歌曲
+     * @return 預載完成的歌曲
+     */
+    private SongBundle load(Song song) {
+        Chart chart = ResourceLoader.loadChart(song.getSongName());
+        return new SongBundle(song, chart, mediaManager.getMedia(song.getSongFilePath()));
+    }
+}
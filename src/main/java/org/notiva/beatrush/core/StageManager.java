@@ -3,15 +3,41 @@ package org.notiva.beatrush.core;
 import java.util.HashMap;
 import java.util.Map;
 
+import javafx.fxml.FXMLLoader;
 import javafx.stage.Stage;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 
 /**
  * <h2>視窗管理器</h2>
+ * <p>
+ * 每個視窗只建立一個 {@link Scene}，切換頁面時只替換其 root。
+ * 以 FXML 載入的頁面會依路徑快取，第二次進入同一頁面時不需重新解析 FXML 與建立節點；
+ * controller 實作 {@link PageLifecycle} 即可在頁面顯示與被取代時收到通知。
+ * </p>
  */
 public class StageManager {
+    /**
+     * 不做任何事的頁面生命週期 (controller 未實作 {@link PageLifecycle} 時使用)
+     */
+    private static final PageLifecycle NO_LIFECYCLE = new PageLifecycle() {
+    };
+
+    /**
+     * 頁面：根節點與其生命週期
+     */
+    private record Page(Parent root, PageLifecycle lifecycle) {
+    }
+
     private final Map<String, Stage> stages = new HashMap<>();
+    /**
+     * 已載入的頁面 (以 FXML 路徑為 key)
+     */
+    private final Map<String, Page> pages = new HashMap<>();
+    /**
+     * 各視窗目前顯示的頁面 (以視窗名稱為 key)
+     */
+    private final Map<String, Page> shownPages = new HashMap<>();
     private final int DEFAULT_WIDTH = 1000;
     private final int DEFAULT_HEIGHT = 800;
 
@@ -79,6 +105,7 @@ public class StageManager {
 
     /**
      * 顯示指定名稱的視窗，並加載指定的 FXML 檔案作為其場景內容，使用指定的寬度和高度。
+     * 頁面第一次顯示時才載入 FXML，之後重複使用；寬度和高度只在視窗第一次建立場景時使用。
      *
      * @param name     要顯示的視窗名稱
      * @param fxmlFile FXML 檔案路徑 (以 resources 目錄為根目錄)
@@ -87,9 +114,13 @@ public class StageManager {
      */
     public void showStage(String name, String fxmlFile, int width, int height) {
         Stage stage = getStage(name);
-        Scene scene = getScene(fxmlFile, width, height);
-        stage.setScene(scene);
-        stage.show();
+        // 不使用 computeIfAbsent：載入頁面時 controller 可能再呼叫 StageManager
+        Page page = pages.get(fxmlFile);
+        if (page == null) {
+            page = loadPage(fxmlFile);
+            pages.put(fxmlFile, page);
+        }
+        showPage(name, stage, page, width, height);
     }
 
     /**
@@ -103,9 +134,7 @@ public class StageManager {
      */
     public void showStage(String name, Parent root, int width, int height) {
         Stage stage = getStage(name);
-        Scene scene = new Scene(root, width, height);
-        stage.setScene(scene);
-        stage.show();
+        showPage(name, stage, new Page(root, NO_LIFECYCLE), width, height);
     }
 
     /**
@@ -115,6 +144,46 @@ public class StageManager {
      */
     public void removeStage(String name) {
         this.stages.remove(name);
+        this.shownPages.remove(name);
+    }
+
+    /**
+     * 將頁面顯示到視窗上：通知原本的頁面被取代，把新頁面的 root 換進視窗的場景，再通知新頁面已顯示。
+     * 視窗還沒有場景時才建立新的場景。
+     *
+     * @param name   視窗名稱
+     * @param stage  視窗
+     * @param page   要顯示的頁面
+     * @param width  場景寬度
+     * @param height 場景高度
+     */
+    private void showPage(String name, Stage stage, Page page, int width, int height) {
+        Page previous = shownPages.put(name, page);
+        if (previous != null) {
+            previous.lifecycle().onHide();
+        }
+        Scene scene = stage.getScene();
+        if (scene == null) {
+            stage.setScene(new Scene(page.root(), width, height));
+        } else {
+            scene.setRoot(page.root());
+        }
+        stage.show();
+        page.lifecycle().onShow();
+    }
+
+    /**
+     * 載入頁面 FXML，並取得 controller 的生命週期。
+     *
+     * @param fxmlFile FXML 檔案路徑 (以 resources 目錄為根目錄)
+     * @return 載入完成的頁面
+     */
+    private static Page loadPage(String fxmlFile) {
+        FXMLLoader loader = ResourceLoader.loadPage(fxmlFile);
+        PageLifecycle lifecycle = loader.getController() instanceof PageLifecycle pageLifecycle
+                ? pageLifecycle
+                : NO_LIFECYCLE;
+        return new Page(loader.getRoot(), lifecycle);
     }
 
     /**
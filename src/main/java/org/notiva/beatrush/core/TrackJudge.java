@@ -0,0 +1,330 @@
+package org.notiva.beatrush.core;
+
+import org.notiva.beatrush.util.JudgementLevel;
+import org.notiva.beatrush.util.NoteTable;
+import org.notiva.beatrush.util.PendingNoteQueue;
+
+/**
+ * <h2>音軌判定器</h2>
+ * <p>
+ * 單一音軌的判定邏輯：待判定音符、長按狀態、打擊與放開的判定、長按計分與漏接判定。
+ * 只依據譜面時間戳與遊戲時間運作，不依賴任何 JavaFX 節點，
+ * 因此同時供 {@code TrackView}（遊戲畫面）與 {@link GameSimulator}（無畫面模擬）使用。
+ * </p>
+ *
+ * <p>
+ * 音符以 {@link NoteTable} 索引表示，必須依時間順序透過 {@link #spawn(int)} 加入；
+ * 判定一律從最早加入的音符開始，被判定的音符會透過 {@link Listener} 通知外部。
+ * </p>
+ *
+ * <p>
+ * 漏接只看時間：遊戲時間一超過打擊時間加上判定表的最晚區間（Bad 的延遲上限），音符即判定為 Miss，
+ * 與音符畫在哪裡、畫面是否更新無關；漏接的音符要畫到何時由繪製端決定。
+ * </p>
+ */
+public class TrackJudge {
+
+    /**
+     * 判定事件監聽器（例如讓繪製器同步移除音符）。
+     */
+    public interface Listener {
+        /**
+         * 長按音符的音符頭被打中、開始按住時呼叫。
+         *
+         * @param noteIndex 音符索引
+         */
+        void onHoldStarted(int noteIndex);
+
+        /**
+         * 音符判定為 Miss 時呼叫，接著會呼叫 {@link #onNoteRemoved(int)}。
+         *
+         * @param noteIndex 音符索引
+         */
+        void onNoteMissed(int noteIndex);
+
+        /**
+         * 音符判定完畢、從待判定音符中移除時呼叫。
+         *
+         * @param noteIndex 音符索引
+         */
+        void onNoteRemoved(int noteIndex);
+    }
+
+    /**
+     * 不做任何事的監聽器
+     */
+    public static final Listener NO_OP_LISTENER = new Listener() {
+        @Override
+        public void onHoldStarted(int noteIndex) {
+        }
+
+        @Override
+        public void onNoteMissed(int noteIndex) {
+        }
+
+        @Override
+        public void onNoteRemoved(int noteIndex) {
+        }
+    };
+
+    /**
+     * 分數管理器
+     */
+    private final ScoreManager scoreManager;
+
+    /**
+     * 判定事件監聽器
+     */
+    private final Listener listener;
+
+    /**
+     * 已加入、尚未判定的音符，依打擊時間排序
+     */
+    private final PendingNoteQueue pendingNotes = new PendingNoteQueue();
+
+    /**
+     * 音軌的音符表
+     */
+    private NoteTable noteTable;
+
+    /**
+     * 譜面時間戳與打擊時間的差（ms），在 JavaFX Application Thread 上設定、由模擬執行緒讀取
+     */
+    private volatile double hitOffsetMillis = 0;
+
+    /**
+     * 正被按住的長按音符索引，-1 表示沒有（必為 {@link #pendingNotes} 的開頭）
+     */
+    private int heldNote = -1;
+
+    /**
+     * 按住中的長按音符下一次計分的遊戲時間（ms）
+     */
+    private double nextTickMillis;
+
+    /**
+     * 按住中的長按音符結束的遊戲時間（ms）
+     */
+    private double holdEndMillis;
+
+    /**
+     * 建構音軌判定器。
+     *
+     * @param scoreManager 計分用的分數管理器
+     * @param listener     判定事件監聽器
+     */
+    public TrackJudge(ScoreManager scoreManager, Listener listener) {
+        this.scoreManager = scoreManager;
+        this.listener = listener;
+    }
+
+    /**
+     * 設定譜面時間戳與打擊時間的差。
+     *
+     * @param hitOffsetMillis 譜面時間戳與打擊時間的差（ms），例如音符的下落時間
+     */
+    public void setHitOffset(double hitOffsetMillis) {
+        this.hitOffsetMillis = hitOffsetMillis;
+    }
+
+    /**
+     * 設定音軌的音符表，並清除判定狀態。
+     *
+     * @param noteTable 音符表
+     */
+    public void setNoteTable(NoteTable noteTable) {
+        this.noteTable = noteTable;
+        reset();
+    }
+
+    /**
+     * 清除所有待判定音符與長按狀態（不會通知監聽器）。
+     */
+    public void reset() {
+        pendingNotes.clear();
+        heldNote = -1;
+    }
+
+    /**
+     * 加入一個待判定音符。
+     *
+     * @param noteIndex 音符索引（必須依時間順序加入）
+     */
+    public void spawn(int noteIndex) {
+        pendingNotes.add(noteIndex);
+    }
+
+    /**
+     * 以指定的遊戲時間打擊此音軌，判定最早該被打擊的音符。
+     *
+     * @param hitMillis 按鍵當下的遊戲時間（ms）
+     */
+    public void hit(double hitMillis) {
+        int note = pendingNotes.peek();
+        // 沒有音符，或正按住長按音符
+        if (note < 0 || note == heldNote) {
+            return;
+        }
+        double timeDiff = hitMillis - getHitMillis(note);
+        // 進入計分區間
+        if (timeDiff >= scoreManager.getJudgementTable().getEarliestMs()) {
+            // 計分
+            JudgementLevel judgeResult = judge(timeDiff);
+            if (noteTable.isHold(note) && judgeResult != JudgementLevel.MISS) {
+                // 長按音符：開始按住，留到放開或結尾時再移除
+                startHold(note, hitMillis);
+            } else {
+                if (judgeResult == JudgementLevel.MISS) {
+                    listener.onNoteMissed(note);
+                }
+                removeNote();
+            }
+        }
+    }
+
+    /**
+     * 以指定的遊戲時間放開此音軌，結束按住中的長按音符。
+     * 在結尾前 {@link GameSetting.JudgmentWindow#HOLD_RELEASE_MIN_MS} 以內放開視為完成，否則中斷連擊。
+     *
+     * @param releaseMillis 放開當下的遊戲時間（ms）
+     */
+    public void release(double releaseMillis) {
+        if (heldNote < 0) {
+            return;
+        }
+        if (releaseMillis - holdEndMillis >= GameSetting.JudgmentWindow.HOLD_RELEASE_MIN_MS) {
+            // 完成：補齊到結尾為止的計分
+            awardHoldTicks(holdEndMillis);
+        } else {
+            awardHoldTicks(releaseMillis);
+            scoreManager.breakHold();
+        }
+        endHold();
+    }
+
+    /**
+     * 推進到指定的遊戲時間：為按住中的長按音符計分，並將已超過判定表最晚區間的音符判定為 Miss。
+     *
+     * @param elapsedMillis 已經過的遊戲時間（ms）
+     */
+    public void update(double elapsedMillis) {
+        updateHold(elapsedMillis);
+        // 待判定音符依打擊時間排序，遇到第一個還能打的音符即可停止
+        double missDelayMillis = scoreManager.getJudgementTable().getLatestMs();
+        while (!pendingNotes.isEmpty()) {
+            int note = pendingNotes.peek();
+            // 按住中的長按音符由 updateHold 處理
+            if (note == heldNote || elapsedMillis - getHitMillis(note) <= missDelayMillis) {
+                break;
+            }
+            scoreManager.addScore(JudgementLevel.MISS);
+            listener.onNoteMissed(note);
+            removeNote();
+        }
+    }
+
+    /**
+     * 取得最早加入、尚未判定的音符索引。
+     *
+     * @return 音符索引；若沒有則為 -1
+     */
+    public int peekPending() {
+        return pendingNotes.peek();
+    }
+
+    /**
+     * 檢查是否還有尚未判定的音符。
+     *
+     * @return 若有則為 true
+     */
+    public boolean hasPending() {
+        return !pendingNotes.isEmpty();
+    }
+
+    /**
+     * 取得正被按住的長按音符索引。
+     *
+     * @return 音符索引；若沒有則為 -1
+     */
+    public int getHeldNote() {
+        return heldNote;
+    }
+
+    /**
+     * 取得音符應被打擊的遊戲時間。
+     *
+     * @param noteIndex 音符索引
+     * @return 打擊時間（ms）
+     */
+    public double getHitMillis(int noteIndex) {
+        return noteTable.getTimestamp(noteIndex) + hitOffsetMillis;
+    }
+
+    /**
+     * 開始按住長按音符。
+     *
+     * @param noteIndex 長按音符索引（必為 {@link #pendingNotes} 的開頭）
+     * @param hitMillis 音符頭被打中的遊戲時間（ms）
+     */
+    private void startHold(int noteIndex, double hitMillis) {
+        double headHitMillis = getHitMillis(noteIndex);
+        heldNote = noteIndex;
+        holdEndMillis = headHitMillis + noteTable.getDuration(noteIndex);
+        nextTickMillis = Math.max(hitMillis, headHitMillis) + GameSetting.Score.HOLD_TICK_INTERVAL_MS;
+        listener.onHoldStarted(noteIndex);
+    }
+
+    /**
+     * 為按住中的長按音符計分，並在到達結尾時結束按住。
+     *
+     * @param elapsedMillis 已經過的遊戲時間（ms）
+     */
+    private void updateHold(double elapsedMillis) {
+        if (heldNote < 0) {
+            return;
+        }
+        awardHoldTicks(Math.min(elapsedMillis, holdEndMillis));
+        if (elapsedMillis >= holdEndMillis) {
+            endHold();
+        }
+    }
+
+    /**
+     * 補上到指定時間為止尚未計算的長按計分。
+     *
+     * @param untilMillis 計分截止的遊戲時間（ms）
+     */
+    private void awardHoldTicks(double untilMillis) {
+        while (nextTickMillis <= untilMillis) {
+            scoreManager.addHoldTick();
+            nextTickMillis += GameSetting.Score.HOLD_TICK_INTERVAL_MS;
+        }
+    }
+
+    /**
+     * 結束按住並移除長按音符。
+     */
+    private void endHold() {
+        heldNote = -1;
+        removeNote();
+    }
+
+    /**
+     * 依據與打擊時間的時間差計算評分並加入分數。
+     *
+     * @param timeDiff 時間差（ms），負值代表提早，正值代表延遲
+     * @return 評分等級
+     */
+    private JudgementLevel judge(double timeDiff) {
+        JudgementLevel judgeResult = scoreManager.calculateJudgement(timeDiff);
+        scoreManager.addScore(judgeResult);
+        return judgeResult;
+    }
+
+    /**
+     * 移除最早加入的待判定音符。
+     */
+    private void removeNote() {
+        listener.onNoteRemoved(pendingNotes.poll());
+    }
+}
@@ -0,0 +1,111 @@
+package org.notiva.beatrush.util;
+
+import javafx.scene.media.MediaPlayer;
+import org.notiva.beatrush.core.GameSetting;
+
+/**
+ * <h2>音訊同步時間來源</h2>
+ * <p>
+ * 讓遊戲時間鎖定在音樂的實際播放進度上。
+ * 音樂開始前以計時器推進；音樂播放中，遊戲時間的目標值為
+ * {@code delayMillis + mediaPlayer.getCurrentTime()}。
+ * </p>
+ *
+ * <p>
+ * {@link MediaPlayer#getCurrentTime()} 的更新頻率比畫面更新低，
+ * 因此在兩次音訊時間更新之間會以計時器外插；
+ * 當遊戲時間與音訊時間出現偏差時，每幀只修正一部分（slew），避免音符跳動。
+ * 遊戲時間不會倒退：落後太多時直接追上，超前時則放慢直到音訊追上。
+ * </p>
+ */
+public class AudioSyncedTimeSource implements TimeSource {
+
+    /**
+     * 音樂播放器
+     */
+    private final MediaPlayer mediaPlayer;
+
+    /**
+     * 音樂延遲播放時間（ms），即音樂開頭對應的遊戲時間
+     */
+    private final double delayMillis;
+
+    /**
+     * 目前的遊戲時間（ms），若為 NaN 表示尚未開始
+     */
+    private double gameMillis = Double.NaN;
+
+    /**
+     * 上一幀的計時器時間（ms）
+     */
+    private double lastTimerMillis;
+
+    /**
+     * 最近一次讀到的音訊播放時間（ms），若為 NaN 表示尚未讀到
+     */
+    private double lastAudioMillis = Double.NaN;
+
+    /**
+     * 讀到 {@link #lastAudioMillis} 時的計時器時間（ms）
+     */
+    private double lastAudioTimerMillis;
+
+    /**
+     * 建構音訊同步時間來源。
+     *
+     * @param mediaPlayer 音樂播放器
+     * @param delayMillis 音樂延遲播放時間（ms）
+     */
+    public AudioSyncedTimeSource(MediaPlayer mediaPlayer, double delayMillis) {
+        this.mediaPlayer = mediaPlayer;
+        this.delayMillis = delayMillis;
+    }
+
+    @Override
+    public double toGameMillis(double timerMillis) {
+        if (Double.isNaN(gameMillis)) {
+            gameMillis = timerMillis;
+            lastTimerMillis = timerMillis;
+            return gameMillis;
+        }
+
+        // 先以計時器推進
+        double estimate = gameMillis + Math.max(timerMillis - lastTimerMillis, 0);
+        lastTimerMillis = timerMillis;
+
+        // 音樂播放中，向音訊時間修正
+        if (mediaPlayer.getStatus() == MediaPlayer.Status.PLAYING) {
+            double audioMillis = mediaPlayer.getCurrentTime().toMillis();
+            if (audioMillis != lastAudioMillis) {
+                lastAudioMillis = audioMillis;
+                lastAudioTimerMillis = timerMillis;
+            }
+            double audioGameMillis = delayMillis + lastAudioMillis + (timerMillis - lastAudioTimerMillis);
+            double error = audioGameMillis - estimate;
+            if (error > GameSetting.Timing.AUDIO_RESYNC_THRESHOLD_MS) {
+                estimate = audioGameMillis;
+            } else {
+                estimate += error * GameSetting.Timing.AUDIO_SLEW_RATE;
+            }
+        }
+
+        // 遊戲時間不倒退
+        gameMillis = Math.max(gameMillis, estimate);
+        return gameMillis;
+    }
+
+    @Override
+    public double estimateGameMillis(double timerMillis) {
+        if (Double.isNaN(gameMillis)) {
+            return timerMillis;
+        }
+        // 以上一幀的遊戲時間外插（查詢時間早於上一幀時則往回推）
+        return gameMillis + (timerMillis - lastTimerMillis);
+    }
+
+    @Override
+    public void reset() {
+        gameMillis = Double.NaN;
+        lastAudioMillis = Double.NaN;
+    }
+}
@@ -0,0 +1,85 @@
+package org.notiva.beatrush.util;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * <h2>譜面</h2>
+ * <p>
+ * 一首歌曲載入後的完整譜面：歌曲 metadata 與每條音軌各自的 {@link NoteTable}，
+ * 並附帶載入耗時，方便觀察載入效能。
+ * </p>
+ */
+public class Chart {
+    private final Song song;
+    private final Map<TrackType, NoteTable> noteTables;
+    private final int noteCount;
+    private final double loadMillis;
+
+    /**
+     * 建構譜面。
+     *
+     * @param song       歌曲 metadata
+     * @param noteTables 各音軌的音符表
+     * @param loadMillis 載入耗時（ms）
+     */
+    public Chart(Song song, Map<TrackType, NoteTable> noteTables, double loadMillis) {
+        this.song = song;
+        this.noteTables = Collections.unmodifiableMap(new EnumMap<>(noteTables));
+        this.noteCount = noteTables.values().stream().mapToInt(NoteTable::size).sum();
+        this.loadMillis = loadMillis;
+    }
+
+    /**
+     * 取得歌曲 metadata。
+     *
+     * @return 歌曲
+     */
+    public Song getSong() {
+        return song;
+    }
+
+    /**
+     * 取得指定音軌的音符表。
+     *
+     * @param trackType 音軌類型
+     * @return 音符表
+     */
+    public NoteTable getNoteTable(TrackType trackType) {
+        return noteTables.get(trackType);
+    }
+
+    /**
+     * 取得所有音軌的音符表。
+     *
+     * @return 音軌類型與音符表的對應
+     */
+    public Map<TrackType, NoteTable> getNoteTables() {
+        return noteTables;
+    }
+
+    /**
+     * 取得所有音軌的音符總數。
+     *
+     * @return 音符總數
+     */
+    public int getNoteCount() {
+        return noteCount;
+    }
+
+    /**
+     * 取得載入耗時（ms）。
+     *
+     * @return 載入耗時
+     */
+    public double getLoadMillis() {
+        return loadMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Chart{song='%s', notes=%d, load=%.2fms}",
+                song.getSongName(), noteCount, loadMillis);
+    }
+}
@@ -23,7 +23,8 @@ public class DelayedMusicPlayer {
     private final double delayMillis;
 
     /**
-     * 校正延遲時間（ms）
+     * 校正延遲時間（ms）：播放器尚未就緒時提前 {@link GameSetting.Timing#DELAY_CORRECTION_MS} 開始播放，
+     * 已就緒（例如經 pre-roll）的播放器則與原始延遲相同
      */
     private final double correctedDelayMillis;
 
@@ -37,6 +38,11 @@ public class DelayedMusicPlayer {
      */
     private final GameTimer timer;
 
+    /**
+     * 遊戲時間來源
+     */
+    private final TimeSource timeSource;
+
     /**
      * 每幀更新的外部監聽器
      */
@@ -48,15 +54,40 @@ public class DelayedMusicPlayer {
     private final List<Runnable> endOfMediaListeners = new ArrayList<>();
 
     /**
-     * 建構延遲音樂播放器。
+     * 最近一幀的時鐘取樣，供其他執行緒（例如模擬執行緒）換算遊戲時間；計時器尚未開始時為 null
+     */
+    private volatile ClockSample clockSample = null;
+
+    /**
+     * 時鐘取樣：某個 {@link System#nanoTime()} 時間點對應的遊戲時間，以及當時時間是否在推進
+     */
+    private record ClockSample(long nanoTime, double gameMillis, boolean running) {
+    }
+
+    /**
+     * 建構延遲音樂播放器，以計時器經過時間作為遊戲時間。
      *
      * @param mediaPlayer 要播放的 {@link MediaPlayer}
      * @param delayMillis 延遲播放時間（ms）
      */
     public DelayedMusicPlayer(MediaPlayer mediaPlayer, double delayMillis) {
+        this(mediaPlayer, delayMillis, new TimerTimeSource());
+    }
+
+    /**
+     * 建構延遲音樂播放器。
+     *
+     * @param mediaPlayer 要播放的 {@link MediaPlayer}
+     * @param delayMillis 延遲播放時間（ms）
+     * @param timeSource  遊戲時間來源
+     */
+    public DelayedMusicPlayer(MediaPlayer mediaPlayer, double delayMillis, TimeSource timeSource) {
         this.mediaPlayer = mediaPlayer;
         this.delayMillis = delayMillis;
-        this.correctedDelayMillis = delayMillis - GameSetting.Timing.DELAY_CORRECTION_MS;
+        this.timeSource = timeSource;
+        // 已就緒的播放器可立即開始播放，提前播放反而會讓音樂比音符早
+        boolean prepared = mediaPlayer.getStatus() != Status.UNKNOWN;
+        this.correctedDelayMillis = prepared ? delayMillis : delayMillis - GameSetting.Timing.DELAY_CORRECTION_MS;
 
         this.timer = new GameTimer() {
             @Override
@@ -66,13 +97,17 @@ public class DelayedMusicPlayer {
         };
 
         // 音樂播放器暫停時，計時器要暫停
-        this.mediaPlayer.setOnPaused(timer::stop);
+        this.mediaPlayer.setOnPaused(() -> {
+            timer.stop();
+            // 暫停期間遊戲時間停在暫停當下
+            clockSample = new ClockSample(System.nanoTime(), toGameMillis(System.nanoTime()), false);
+        });
         // 音樂播放器手動停止時，計時器要重置
-        this.mediaPlayer.setOnStopped(timer::reset);
+        this.mediaPlayer.setOnStopped(this::resetClock);
         // 音樂播放器因結束停止時
         this.mediaPlayer.setOnEndOfMedia(() -> {
             // 計時器要重置
-            this.timer.reset();
+            resetClock();
             // 音樂播放器手動停止 (確保進入 STOPPED 狀態)
             this.mediaPlayer.stop();
             // 執行所有 endOfMediaListeners
@@ -91,11 +126,24 @@ public class DelayedMusicPlayer {
             mediaPlayer.play();
         }
 
+        // 換算成遊戲時間後才交給外部
+        double gameMillis = timeSource.toGameMillis(elapsedMillis);
+        long nanoTime = System.nanoTime();
+        clockSample = new ClockSample(nanoTime, toGameMillis(nanoTime), true);
         if (updateListener != null) {
-            updateListener.accept(elapsedMillis);
+            updateListener.accept(gameMillis);
         }
     }
 
+    /**
+     * 重置計時器與遊戲時間來源。
+     */
+    private void resetClock() {
+        timer.reset();
+        timeSource.reset();
+        clockSample = null;
+    }
+
     /**
      * 添加 EndOfMedia 監聽器。
      *
@@ -224,4 +272,51 @@ public class DelayedMusicPlayer {
     public GameTimer getTimer() {
         return timer;
     }
+
+    /**
+     * 取得此刻的遊戲時間（ms），由遊戲時間來源依計時器目前的經過時間估算，
+     * 不受畫面更新頻率影響。
+     *
+     * @return 遊戲時間（ms）
+     */
+    public double getGameMillis() {
+        return toGameMillis(System.nanoTime());
+    }
+
+    /**
+     * 將 {@link System#nanoTime()} 時間點換算為當時的遊戲時間（ms），例如按鍵按下的時間戳。
+     *
+     * @param nanoTime {@link System#nanoTime()} 時間點
+     * @return 遊戲時間（ms）
+     */
+    public double toGameMillis(long nanoTime) {
+        return timeSource.estimateGameMillis(timer.toElapsedMillis(nanoTime));
+    }
+
+    /**
+     * 以最近一幀的時鐘取樣外插，將 {@link System#nanoTime()} 時間點換算為遊戲時間（ms）。
+     * 不讀取計時器與時間來源的內部狀態，因此可在任何執行緒呼叫（例如模擬執行緒）。
+     *
+     * @param nanoTime {@link System#nanoTime()} 時間點
+     * @return 遊戲時間（ms）；計時器尚未開始時為 NaN
+     */
+    public double estimateGameMillis(long nanoTime) {
+        ClockSample sample = clockSample;
+        if (sample == null) {
+            return Double.NaN;
+        }
+        if (!sample.running()) {
+            return sample.gameMillis();
+        }
+        return sample.gameMillis() + (nanoTime - sample.nanoTime()) / 1_000_000.0;
+    }
+
+    /**
+     * 取得遊戲時間來源。
+     *
+     * @return 遊戲時間來源
+     */
+    public TimeSource getTimeSource() {
+        return timeSource;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+package org.notiva.beatrush.util;
+
+/**
+ * <h2>遊戲狀態快照</h2>
+ * <p>
+ * 模擬執行緒每個 tick 寫入一份，經由 {@link SnapshotBuffer} 交給 JavaFX Application Thread 繪製與更新分數顯示。
+ * 快照物件會被重複使用，交給讀取端後到下一次取得之前都不會被修改。
+ * </p>
+ *
+ * <p>
+ * 每個音軌記錄存活音符的區間 [第一個存活音符, 下一個要出現的音符) 與按住中的長按音符，
+ * 繪製端依此與上一次繪製的狀態比對，得知出現、開始按住與移除的音符。
+ * </p>
+ */
+public class GameSnapshot {
+
+    private static final int TRACK_COUNT = TrackType.values().length;
+
+    /** 寫入時的模擬 tick 序號，0 表示尚未寫入 */
+    private long tick = 0;
+
+    /** 寫入時的遊戲時間（ms） */
+    private double gameMillis;
+
+    /** 各音軌第一個存活音符的索引（以 {@link TrackType} ordinal 為索引） */
+    private final int[] firstLiveIndices = new int[TRACK_COUNT];
+
+    /** 各音軌下一個要出現的音符索引（以 {@link TrackType} ordinal 為索引） */
+    private final int[] spawnIndices = new int[TRACK_COUNT];
+
+    /** 各音軌按住中的長按音符索引，-1 表示沒有（以 {@link TrackType} ordinal 為索引） */
+    private final int[] heldNotes = new int[TRACK_COUNT];
+
+    private int totalScore;
+    private int combo;
+    private int missCount;
+    private JudgementLevel lastJudgement;
+    private long judgementSerial;
+
+    /**
+     * 寫入時間資訊。
+     *
+     * @param tick       模擬 tick 序號（從 1 開始）
+     * @param gameMillis 遊戲時間（ms）
+     */
+    public void setTime(long tick, double gameMillis) {
+        this.tick = tick;
+        this.gameMillis = gameMillis;
+    }
+
+    /**
+     * 寫入音軌狀態。
+     *
+     * @param trackType      音軌
+     * @param firstLiveIndex 第一個存活音符的索引；沒有存活音符時等於 spawnIndex
+     * @param spawnIndex     下一個要出現的音符索引
+     * @param heldNote       按住中的長按音符索引，-1 表示沒有
+     */
+    public void setTrack(TrackType trackType, int firstLiveIndex, int spawnIndex, int heldNote) {
+        int t = trackType.ordinal();
+        firstLiveIndices[t] = firstLiveIndex;
+        spawnIndices[t] = spawnIndex;
+        heldNotes[t] = heldNote;
+    }
+
+    /**
+     * 寫入分數。
+     *
+     * @param totalScore      總分
+     * @param combo           連擊數
+     * @param missCount       Miss 數
+     * @param lastJudgement   最後一次評分；尚未有評分時為 null
+     * @param judgementSerial 評分序號，每次評分遞增
+     */
+    public void setScore(int totalScore, int combo, int missCount, JudgementLevel lastJudgement, long judgementSerial) {
+        this.totalScore = totalScore;
+        this.combo = combo;
+        this.missCount = missCount;
+        this.lastJudgement = lastJudgement;
+        this.judgementSerial = judgementSerial;
+    }
+
+    /**
+     * 檢查快照是否已寫入過。
+     *
+     * @return 若已寫入則為 true
+     */
+    public boolean isWritten() {
+        return tick > 0;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public double getGameMillis() {
+        return gameMillis;
+    }
+
+    public int getFirstLiveIndex(TrackType trackType) {
+        return firstLiveIndices[trackType.ordinal()];
+    }
+
+    public int getSpawnIndex(TrackType trackType) {
+        return spawnIndices[trackType.ordinal()];
+    }
+
+    public int getHeldNote(TrackType trackType) {
+        return heldNotes[trackType.ordinal()];
+    }
+
+    public int getTotalScore() {
+        return totalScore;
+    }
+
+    public int getCombo() {
+        return combo;
+    }
+
+    public int getMissCount() {
+        return missCount;
+    }
+
+    public JudgementLevel getLastJudgement() {
+        return lastJudgement;
+    }
+
+    public long getJudgementSerial() {
+        return judgementSerial;
+    }
+}
@@ -71,6 +71,28 @@ public abstract class GameTimer extends AnimationTimer {
         }
     }
 
+    /**
+     * 取得此刻自啟動以來經過的時間（ms），不需等到下一幀。
+     * 暫停中則回傳暫停當下的經過時間。
+     *
+     * @return 經過時間（ms）
+     */
+    public double getElapsedMillis() {
+        return toElapsedMillis(System.nanoTime());
+    }
+
+    /**
+     * 將 {@link System#nanoTime()} 時間點換算為自啟動以來經過的時間（ms）。
+     * 暫停中則回傳暫停當下的經過時間。
+     *
+     * @param nanoTime {@link System#nanoTime()} 時間點
+     * @return 經過時間（ms）
+     */
+    public double toElapsedMillis(long nanoTime) {
+        long elapsedNanos = startTime < 0 ? pauseOffset : nanoTime - startTime;
+        return elapsedNanos / 1_000_000.0;
+    }
+
     /**
      * 重設計時器。
      */
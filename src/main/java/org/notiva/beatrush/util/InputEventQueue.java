@@ -0,0 +1,159 @@
+package org.notiva.beatrush.util;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <h2>輸入事件佇列</h2>
+ * <p>
+ * 以環狀緩衝區存放尚未處理的按鍵事件：每筆事件只有音軌、按下或放開、以及事件當下的 {@link System#nanoTime()}，
+ * 分別存在基本型別陣列中，加入與取出都不會建立物件。
+ * </p>
+ *
+ * <p>容量固定為 2 的次方，滿了才會加倍。</p>
+ */
+public class InputEventQueue {
+
+    private static final TrackType[] TRACK_TYPES = TrackType.values();
+
+    /** 預設初始容量 */
+    private static final int DEFAULT_CAPACITY = 32;
+
+    /** 各事件的音軌（{@link TrackType} ordinal） */
+    private byte[] trackTypes;
+
+    /** 各事件是按下（true）或放開（false） */
+    private boolean[] pressed;
+
+    /** 各事件的時間戳（ns） */
+    private long[] nanoTimes;
+
+    /** 開頭元素位置 */
+    private int head = 0;
+
+    /** 元素數量 */
+    private int size = 0;
+
+    /**
+     * 以預設容量建構佇列。
+     */
+    public InputEventQueue() {
+        this.trackTypes = new byte[DEFAULT_CAPACITY];
+        this.pressed = new boolean[DEFAULT_CAPACITY];
+        this.nanoTimes = new long[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * 將事件加到佇列尾端。
+     *
+     * @param trackType 音軌
+     * @param pressed   按下為 true，放開為 false
+     * @param nanoTime  事件發生時的 {@link System#nanoTime()}
+     */
+    public void add(TrackType trackType, boolean pressed, long nanoTime) {
+        if (size == nanoTimes.length) {
+            grow();
+        }
+        int tail = (head + size) & (nanoTimes.length - 1);
+        trackTypes[tail] = (byte) trackType.ordinal();
+        this.pressed[tail] = pressed;
+        nanoTimes[tail] = nanoTime;
+        size++;
+    }
+
+    /**
+     * 取得開頭事件的音軌。
+     *
+     * @return 音軌
+     * @throws NoSuchElementException 佇列為空
+     */
+    public TrackType peekTrackType() {
+        checkNotEmpty();
+        return TRACK_TYPES[trackTypes[head]];
+    }
+
+    /**
+     * 取得開頭事件是按下還是放開。
+     *
+     * @return 按下為 true，放開為 false
+     * @throws NoSuchElementException 佇列為空
+     */
+    public boolean peekPressed() {
+        checkNotEmpty();
+        return pressed[head];
+    }
+
+    /**
+     * 取得開頭事件的時間戳。
+     *
+     * @return 事件發生時的 {@link System#nanoTime()}
+     * @throws NoSuchElementException 佇列為空
+     */
+    public long peekNanoTime() {
+        checkNotEmpty();
+        return nanoTimes[head];
+    }
+
+    /**
+     * 移除開頭事件。
+     *
+     * @throws NoSuchElementException 佇列為空
+     */
+    public void remove() {
+        checkNotEmpty();
+        head = (head + 1) & (nanoTimes.length - 1);
+        size--;
+    }
+
+    /**
+     * 檢查佇列是否為空。
+     *
+     * @return 若為空則為 true
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 取得佇列中的事件數量。
+     *
+     * @return 事件數量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 清空佇列（保留已配置的容量）。
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("Input event queue is empty");
+        }
+    }
+
+    /**
+     * 容量加倍，並將元素依序搬到新緩衝區開頭。
+     */
+    private void grow() {
+        int capacity = nanoTimes.length;
+        byte[] grownTrackTypes = new byte[capacity << 1];
+        boolean[] grownPressed = new boolean[capacity << 1];
+        long[] grownNanoTimes = new long[capacity << 1];
+        int firstPart = Math.min(size, capacity - head);
+        System.arraycopy(trackTypes, head, grownTrackTypes, 0, firstPart);
+        System.arraycopy(trackTypes, 0, grownTrackTypes, firstPart, size - firstPart);
+        System.arraycopy(pressed, head, grownPressed, 0, firstPart);
+        System.arraycopy(pressed, 0, grownPressed, firstPart, size - firstPart);
+        System.arraycopy(nanoTimes, head, grownNanoTimes, 0, firstPart);
+        System.arraycopy(nanoTimes, 0, grownNanoTimes, firstPart, size - firstPart);
+        trackTypes = grownTrackTypes;
+        pressed = grownPressed;
+        nanoTimes = grownNanoTimes;
+        head = 0;
+    }
+}
@@ -0,0 +1,234 @@
+package org.notiva.beatrush.util;
+
+import java.util.Arrays;
+
+/**
+ * <h2>輸入腳本</h2>
+ * <p>
+ * 一段依時間排序的按鍵輸入（按下與放開），時間以譜面時間（ms）表示：
+ * 在時間戳 T 按下即為準確打中時間戳 T 的音符。
+ * 供無畫面模擬（{@code GameSimulator}）使用，以基本型別陣列存放。
+ * </p>
+ *
+ * <p>使用範例：</p>
+ * <pre>{@code
+ * InputScript input = new InputScript.Builder()
+ *         .press(TrackType.LEFT, 1500)
+ *         .release(TrackType.LEFT, 1600)
+ *         .build();
+ * }</pre>
+ */
+public class InputScript {
+
+    private static final TrackType[] TRACK_TYPES = TrackType.values();
+
+    /** 各事件的時間（ms），遞增排序 */
+    private final double[] millis;
+
+    /** 各事件的音軌（{@link TrackType} ordinal） */
+    private final byte[] trackTypes;
+
+    /** 各事件是按下（true）或放開（false） */
+    private final boolean[] pressed;
+
+    private InputScript(double[] millis, byte[] trackTypes, boolean[] pressed) {
+        this.millis = millis;
+        this.trackTypes = trackTypes;
+        this.pressed = pressed;
+    }
+
+    /**
+     * 產生完美遊玩的輸入：每個音符在時間戳準確按下，長按音符在結尾放開，其餘音符立即放開。
+     *
+     * @param chart 譜面
+     * @return 輸入腳本
+     */
+    public static InputScript autoPlay(Chart chart) {
+        Builder builder = new Builder(chart.getNoteCount() * 2);
+        for (TrackType trackType : TRACK_TYPES) {
+            NoteTable noteTable = chart.getNoteTable(trackType);
+            for (int i = 0; i < noteTable.size(); i++) {
+                double timestamp = noteTable.getTimestamp(i);
+                builder.press(trackType, timestamp);
+                builder.release(trackType, timestamp + (noteTable.isHold(i) ? noteTable.getDuration(i) : 0));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 取得事件數量。
+     *
+     * @return 事件數量
+     */
+    public int size() {
+        return millis.length;
+    }
+
+    /**
+     * 取得事件時間（ms）。
+     *
+     * @param index 事件索引
+     * @return 時間
+     */
+    public double getMillis(int index) {
+        return millis[index];
+    }
+
+    /**
+     * 取得事件的音軌。
+     *
+     * @param index 事件索引
+     * @return 音軌
+     */
+    public TrackType getTrackType(int index) {
+        return TRACK_TYPES[trackTypes[index]];
+    }
+
+    /**
+     * 檢查事件是按下還是放開。
+     *
+     * @param index 事件索引
+     * @return 按下為 true，放開為 false
+     */
+    public boolean isPressed(int index) {
+        return pressed[index];
+    }
+
+    /**
+     * <h2>輸入腳本建構器</h2>
+     * <p>
+     * 事件可以任意順序加入，{@link #build()} 時依時間做穩定排序（同時間者保持加入順序）。
+     * </p>
+     */
+    public static class Builder {
+
+        /** 排序鍵中索引所佔的位元數（最多 2^24 個事件） */
+        private static final int INDEX_BITS = 24;
+        private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+        private double[] millis;
+        private byte[] trackTypes;
+        private boolean[] pressed;
+        private int size = 0;
+
+        /**
+         * 建構輸入腳本建構器。
+         */
+        public Builder() {
+            this(16);
+        }
+
+        /**
+         * 建構輸入腳本建構器。
+         *
+         * @param initialCapacity 初始容量
+         */
+        public Builder(int initialCapacity) {
+            int capacity = Math.max(initialCapacity, 1);
+            millis = new double[capacity];
+            trackTypes = new byte[capacity];
+            pressed = new boolean[capacity];
+        }
+
+        /**
+         * 加入一次按下。
+         *
+         * @param trackType 音軌
+         * @param millis    時間（ms）
+         * @return 此建構器
+         */
+        public Builder press(TrackType trackType, double millis) {
+            return add(trackType, true, millis);
+        }
+
+        /**
+         * 加入一次放開。
+         *
+         * @param trackType 音軌
+         * @param millis    時間（ms）
+         * @return 此建構器
+         */
+        public Builder release(TrackType trackType, double millis) {
+            return add(trackType, false, millis);
+        }
+
+        /**
+         * 加入一個事件。
+         *
+         * @param trackType 音軌
+         * @param pressed   按下為 true，放開為 false
+         * @param millis    時間（ms）
+         * @return 此建構器
+         */
+        public Builder add(TrackType trackType, boolean pressed, double millis) {
+            if (Double.isNaN(millis)) {
+                throw new IllegalArgumentException("Input time must not be NaN");
+            }
+            if (size == this.millis.length) {
+                int capacity = size << 1;
+                this.millis = Arrays.copyOf(this.millis, capacity);
+                trackTypes = Arrays.copyOf(trackTypes, capacity);
+                this.pressed = Arrays.copyOf(this.pressed, capacity);
+            }
+            this.millis[size] = millis;
+            trackTypes[size] = (byte) trackType.ordinal();
+            this.pressed[size] = pressed;
+            size++;
+            return this;
+        }
+
+        /**
+         * 建立依時間排序的輸入腳本。
+         *
+         * @return 輸入腳本
+         */
+        public InputScript build() {
+            int[] order = sortByMillis();
+            double[] sortedMillis = new double[size];
+            byte[] sortedTrackTypes = new byte[size];
+            boolean[] sortedPressed = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                int from = order[i];
+                sortedMillis[i] = millis[from];
+                sortedTrackTypes[i] = trackTypes[from];
+                sortedPressed[i] = pressed[from];
+            }
+            return new InputScript(sortedMillis, sortedTrackTypes, sortedPressed);
+        }
+
+        /**
+         * 依時間做穩定排序，回傳排序後各位置對應的原索引。
+         * 將（時間的高位元, 原索引）打包成一個 long 排序，全程不需裝箱；
+         * 鍵只保留時間的高位元，同一區間內的事件再以插入排序依完整時間修正（幾乎已排序，成本接近線性）。
+         *
+         * @return 排序後的原索引
+         */
+        private int[] sortByMillis() {
+            if (size > INDEX_MASK) {
+                throw new IllegalStateException("Too many input events: " + size);
+            }
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                long bits = Double.doubleToLongBits(millis[i]);
+                // 轉成與 Double.compare 同順序的有號整數（負數翻轉數值位元）
+                long sortable = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+                keys[i] = (sortable & ~INDEX_MASK) | i;
+            }
+            Arrays.sort(keys);
+
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) {
+                int from = (int) (keys[i] & INDEX_MASK);
+                double value = millis[from];
+                int j = i - 1;
+                while (j >= 0 && Double.compare(millis[order[j]], value) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = from;
+            }
+            return order;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.notiva.beatrush.util;
+
+import org.notiva.beatrush.core.GameSetting;
+
+/**
+ * <h2>判定區間預設（難度）</h2>
+ * <p>
+ * 每個預設定義 Perfect / Great / Good / Bad 四個判定區間（ms，負值代表提早，正值代表延遲），
+ * 區間必須由嚴到寬層層包含。遊戲中可隨時切換，由 {@link JudgementTable} 轉成判定表。
+ * </p>
+ *
+ * <p>
+ * 音符在打擊前 {@link GameSetting.JudgmentWindow#BAD_MIN_MS} 出現在畫面頂端，
+ * 因此各預設的 Bad 提早區間都不超過它。
+ * </p>
+ */
+public enum JudgementProfile {
+    EASY(-75.0, 75.0, -200.0, 200.0, -400.0, 250.0, -800.0, 350.0),
+    NORMAL(GameSetting.JudgmentWindow.PERFECT_MIN_MS, GameSetting.JudgmentWindow.PERFECT_MAX_MS,
+            GameSetting.JudgmentWindow.GREAT_MIN_MS, GameSetting.JudgmentWindow.GREAT_MAX_MS,
+            GameSetting.JudgmentWindow.GOOD_MIN_MS, GameSetting.JudgmentWindow.GOOD_MAX_MS,
+            GameSetting.JudgmentWindow.BAD_MIN_MS, GameSetting.JudgmentWindow.BAD_MAX_MS),
+    HARD(-35.0, 35.0, -100.0, 100.0, -250.0, 150.0, -500.0, 200.0);
+
+    /**
+     * 各判定等級區間的下界（以 {@link JudgementLevel} ordinal 為索引，不含 MISS）
+     */
+    private final double[] minMs;
+
+    /**
+     * 各判定等級區間的上界（以 {@link JudgementLevel} ordinal 為索引，不含 MISS）
+     */
+    private final double[] maxMs;
+
+    JudgementProfile(double perfectMin, double perfectMax, double greatMin, double greatMax,
+                     double goodMin, double goodMax, double badMin, double badMax) {
+        this.minMs = new double[]{perfectMin, greatMin, goodMin, badMin};
+        this.maxMs = new double[]{perfectMax, greatMax, goodMax, badMax};
+    }
+
+    /**
+     * 取得判定等級區間的下界。
+     *
+     * @param level 判定等級（不可為 MISS）
+     * @return 下界（ms）
+     */
+    public double getMinMs(JudgementLevel level) {
+        return minMs[level.ordinal()];
+    }
+
+    /**
+     * 取得判定等級區間的上界。
+     *
+     * @param level 判定等級（不可為 MISS）
+     * @return 上界（ms）
+     */
+    public double getMaxMs(JudgementLevel level) {
+        return maxMs[level.ordinal()];
+    }
+}
@@ -0,0 +1,150 @@
+package org.notiva.beatrush.util;
+
+/**
+ * <h2>判定表</h2>
+ * <p>
+ * 由 {@link JudgementProfile} 預先建立的判定查詢表。
+ * 判定區間層層包含，因此提早與延遲兩側各自是一個遞增的邊界陣列：
+ * 以二分搜尋找出時間差落在第幾個邊界之間，即可直接查出評分等級，不需要逐一比較每個區間，也不會配置物件。
+ * </p>
+ *
+ * <p>使用範例：</p>
+ * <pre>{@code
+ * JudgementTable table = new JudgementTable(JudgementProfile.HARD);
+ * JudgementLevel level = table.judge(-42.0);
+ * }</pre>
+ */
+public class JudgementTable {
+
+    /**
+     * 有判定區間的評分等級，由嚴到寬
+     */
+    private static final JudgementLevel[] GRADED_LEVELS = {
+            JudgementLevel.PERFECT, JudgementLevel.GREAT, JudgementLevel.GOOD, JudgementLevel.BAD
+    };
+
+    /**
+     * 提早一側：落在第 i 個邊界之後 (含) 的等級，索引 0 為 MISS
+     */
+    private static final JudgementLevel[] EARLY_LEVELS = {
+            JudgementLevel.MISS, JudgementLevel.BAD, JudgementLevel.GOOD, JudgementLevel.GREAT, JudgementLevel.PERFECT
+    };
+
+    /**
+     * 延遲一側：超過第 i 個邊界的等級，索引 0 為 PERFECT
+     */
+    private static final JudgementLevel[] LATE_LEVELS = {
+            JudgementLevel.PERFECT, JudgementLevel.GREAT, JudgementLevel.GOOD, JudgementLevel.BAD, JudgementLevel.MISS
+    };
+
+    private final JudgementProfile profile;
+
+    /**
+     * 提早一側的邊界（由寬到嚴的下界，遞增）
+     */
+    private final double[] earlyBounds = new double[GRADED_LEVELS.length];
+
+    /**
+     * 延遲一側的邊界（由嚴到寬的上界，遞增）
+     */
+    private final double[] lateBounds = new double[GRADED_LEVELS.length];
+
+    /**
+     * 建立判定表。
+     *
+     * @param profile 判定區間預設
+     * @throws IllegalArgumentException 若判定區間沒有涵蓋 0 或沒有層層包含
+     */
+    public JudgementTable(JudgementProfile profile) {
+        this.profile = profile;
+        int n = GRADED_LEVELS.length;
+        for (int i = 0; i < n; i++) {
+            JudgementLevel level = GRADED_LEVELS[i];
+            earlyBounds[n - 1 - i] = profile.getMinMs(level);
+            lateBounds[i] = profile.getMaxMs(level);
+        }
+        if (earlyBounds[n - 1] > 0 || lateBounds[0] < 0) {
+            throw new IllegalArgumentException("Judgement windows must contain 0: " + profile);
+        }
+        for (int i = 1; i < n; i++) {
+            if (earlyBounds[i] < earlyBounds[i - 1] || lateBounds[i] < lateBounds[i - 1]) {
+                throw new IllegalArgumentException("Judgement windows must be nested: " + profile);
+            }
+        }
+    }
+
+    /**
+     * 根據時間差查出評分等級。
+     *
+     * @param timingDifference 時間差（ms），負數表示提前，正數表示延遲
+     * @return 評分等級，超出所有區間（或為 NaN）則為 MISS
+     */
+    public JudgementLevel judge(double timingDifference) {
+        // NaN 走提早一側，不會落在任何邊界之後
+        if (!(timingDifference >= 0)) {
+            return EARLY_LEVELS[countAtMost(earlyBounds, timingDifference)];
+        }
+        return LATE_LEVELS[countLessThan(lateBounds, timingDifference)];
+    }
+
+    /**
+     * 取得最早可被判定的時間差（Bad 區間下界），更早的按鍵不算打擊。
+     *
+     * @return 時間差（ms）
+     */
+    public double getEarliestMs() {
+        return earlyBounds[0];
+    }
+
+    /**
+     * 取得最晚可被判定的時間差（Bad 區間上界），超過即為 Miss。
+     *
+     * @return 時間差（ms）
+     */
+    public double getLatestMs() {
+        return lateBounds[lateBounds.length - 1];
+    }
+
+    /**
+     * 取得建立此判定表的預設。
+     *
+     * @return 判定區間預設
+     */
+    public JudgementProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * 計算遞增陣列中小於等於指定值的元素數量。
+     */
+    private static int countAtMost(double[] bounds, double value) {
+        int low = 0;
+        int high = bounds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bounds[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 計算遞增陣列中小於指定值的元素數量。
+     */
+    private static int countLessThan(double[] bounds, double value) {
+        int low = 0;
+        int high = bounds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bounds[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
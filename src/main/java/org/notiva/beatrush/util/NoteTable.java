@@ -0,0 +1,254 @@
+package org.notiva.beatrush.util;
+
+import java.util.Arrays;
+
+/**
+ * <h2>音符表</h2>
+ * <p>
+ * 以 structure-of-arrays 方式存放單一音軌的所有音符：時間、持續時間、類型各自是一個基本型別陣列，
+ * 同一個索引代表同一個音符。音符依時間戳排序，透過索引（游標）存取，不需建立任何 {@link Note} 物件。
+ * </p>
+ *
+ * <p>時間以微秒（µs）整數儲存，對外一律以毫秒（ms）的 {@code double} 呈現。</p>
+ *
+ * <p>使用範例：</p>
+ * <pre>{@code
+ * NoteTable.Builder builder = new NoteTable.Builder();
+ * builder.add(1500, 0, NoteType.TAP);
+ * builder.add(2000, 800, NoteType.HOLD);
+ * NoteTable table = builder.build();
+ * for (int i = 0; i < table.size(); i++) {
+ *     System.out.println(table.getTimestamp(i));
+ * }
+ * }</pre>
+ */
+public class NoteTable {
+
+    private static final NoteType[] NOTE_TYPES = NoteType.values();
+
+    /** 各音符的時間戳（µs），遞增排序 */
+    private final long[] timestampMicros;
+
+    /** 各音符的持續時間（µs），TapNote 為 0 */
+    private final int[] durationMicros;
+
+    /** 各音符的類型（{@link NoteType} ordinal） */
+    private final byte[] noteTypes;
+
+    /** 音符數量 */
+    private final int size;
+
+    private NoteTable(long[] timestampMicros, int[] durationMicros, byte[] noteTypes, int size) {
+        this.timestampMicros = timestampMicros;
+        this.durationMicros = durationMicros;
+        this.noteTypes = noteTypes;
+        this.size = size;
+    }
+
+    /**
+     * 取得音符數量。
+     *
+     * @return 音符數量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 取得指定音符的時間戳（ms）。
+     *
+     * @param index 音符索引
+     * @return 時間戳
+     */
+    public double getTimestamp(int index) {
+        return timestampMicros[index] / 1000.0;
+    }
+
+    /**
+     * 取得指定音符的持續時間（ms）。
+     *
+     * @param index 音符索引
+     * @return 持續時間，若為 TapNote 則為 0
+     */
+    public double getDuration(int index) {
+        return durationMicros[index] / 1000.0;
+    }
+
+    /**
+     * 取得指定音符的類型。
+     *
+     * @param index 音符索引
+     * @return 音符類型
+     */
+    public NoteType getNoteType(int index) {
+        return NOTE_TYPES[noteTypes[index]];
+    }
+
+    /**
+     * 檢查指定音符是否為長按音符。
+     *
+     * @param index 音符索引
+     * @return 若為 HoldNote 則為 true
+     */
+    public boolean isHold(int index) {
+        return noteTypes[index] == NoteType.HOLD.ordinal();
+    }
+
+    /**
+     * 將毫秒換算為微秒。
+     */
+    private static long toMicros(double millis) {
+        return Math.round(millis * 1000.0);
+    }
+
+    /**
+     * <h2>音符表建構器</h2>
+     * <p>
+     * 以可成長的基本型別陣列收集音符，{@link #build()} 時依時間戳排序。
+     * 加入時會順便檢查是否已依時間排序，已排序的輸入（多數譜面皆是）會跳過排序。
+     * </p>
+     */
+    public static class Builder {
+
+        /** 排序鍵中索引所佔的位元數（最多 2^24 個音符） */
+        private static final int INDEX_BITS = 24;
+        private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+        private long[] timestampMicros;
+        private int[] durationMicros;
+        private byte[] noteTypes;
+        private int size = 0;
+        private boolean sorted = true;
+
+        /**
+         * 建構音符表建構器。
+         */
+        public Builder() {
+            this(16);
+        }
+
+        /**
+         * 建構音符表建構器。
+         *
+         * @param initialCapacity 初始容量
+         */
+        public Builder(int initialCapacity) {
+            int capacity = Math.max(initialCapacity, 1);
+            timestampMicros = new long[capacity];
+            durationMicros = new int[capacity];
+            noteTypes = new byte[capacity];
+        }
+
+        /**
+         * 加入一個音符。
+         *
+         * @param timestamp 時間戳（ms）
+         * @param duration  持續時間（ms）
+         * @param noteType  音符類型
+         * @return 此建構器
+         */
+        public Builder add(double timestamp, double duration, NoteType noteType) {
+            if (size == timestampMicros.length) {
+                grow();
+            }
+            long micros = toMicros(timestamp);
+            if (size > 0 && micros < timestampMicros[size - 1]) {
+                sorted = false;
+            }
+            timestampMicros[size] = micros;
+            durationMicros[size] = (int) toMicros(duration);
+            noteTypes[size] = (byte) noteType.ordinal();
+            size++;
+            return this;
+        }
+
+        /**
+         * 加入一個音符。
+         *
+         * @param note 音符
+         * @return 此建構器
+         */
+        public Builder add(Note note) {
+            return add(note.getTimestamp(), note.getDuration(), note.getNoteType());
+        }
+
+        /**
+         * 建立依時間戳排序的音符表。
+         *
+         * @return 音符表
+         * @throws IllegalStateException 時間戳為負或音符過多，無法排序
+         */
+        public NoteTable build() {
+            if (!sorted) {
+                sortByTimestamp();
+                sorted = true;
+            }
+            return new NoteTable(
+                    Arrays.copyOf(timestampMicros, size),
+                    Arrays.copyOf(durationMicros, size),
+                    Arrays.copyOf(noteTypes, size),
+                    size
+            );
+        }
+
+        /**
+         * 取得目前已加入的音符數量。
+         *
+         * @return 音符數量
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * 檢查目前加入的音符是否已依時間戳排序。
+         *
+         * @return 若已排序則為 true
+         */
+        public boolean isSorted() {
+            return sorted;
+        }
+
+        /**
+         * 依時間戳做穩定排序。
+         * 將（時間戳, 原索引）打包成一個 long 排序，再依排序後的索引重排三個陣列，全程不需裝箱。
+         */
+        private void sortByTimestamp() {
+            if (size > INDEX_MASK) {
+                throw new IllegalStateException("Too many notes in one track: " + size);
+            }
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                long timestamp = timestampMicros[i];
+                if (timestamp < 0 || timestamp > (Long.MAX_VALUE >>> INDEX_BITS)) {
+                    throw new IllegalStateException("Note timestamp out of range: " + timestamp + "µs");
+                }
+                keys[i] = (timestamp << INDEX_BITS) | i;
+            }
+            Arrays.sort(keys);
+
+            long[] sortedTimestamps = new long[size];
+            int[] sortedDurations = new int[size];
+            byte[] sortedTypes = new byte[size];
+            for (int i = 0; i < size; i++) {
+                int from = (int) (keys[i] & INDEX_MASK);
+                sortedTimestamps[i] = timestampMicros[from];
+                sortedDurations[i] = durationMicros[from];
+                sortedTypes[i] = noteTypes[from];
+            }
+            timestampMicros = sortedTimestamps;
+            durationMicros = sortedDurations;
+            noteTypes = sortedTypes;
+        }
+
+        /**
+         * 容量加倍。
+         */
+        private void grow() {
+            int capacity = timestampMicros.length * 2;
+            timestampMicros = Arrays.copyOf(timestampMicros, capacity);
+            durationMicros = Arrays.copyOf(durationMicros, capacity);
+            noteTypes = Arrays.copyOf(noteTypes, capacity);
+        }
+    }
+}
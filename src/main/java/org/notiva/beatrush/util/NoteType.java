@@ -1,5 +1,8 @@
 package org.notiva.beatrush.util;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import com.google.gson.annotations.SerializedName;
 
 /**
@@ -11,6 +14,15 @@ public enum NoteType {
     @SerializedName("HOLD")
     HOLD;
 
+    /** {@code @SerializedName} 的值與 enum 常數的對應（避免每次都用反射查詢） */
+    private static final Map<String, NoteType> BY_SERIALIZED_NAME = new HashMap<>();
+
+    static {
+        for (NoteType type : values()) {
+            BY_SERIALIZED_NAME.put(type.getSerializedName(), type);
+        }
+    }
+
     /**
      * 取得指定 enum 常數上 {@link SerializedName} 註解的值。
      *
@@ -19,4 +31,19 @@ public enum NoteType {
     public String getSerializedName() {
         return Misc.getSerializedName(this);
     }
+
+    /**
+     * 依據 {@code @SerializedName} 的值取得對應的 enum 常數。
+     *
+     * @param serializedName {@code @SerializedName} 的值
+     * @return 對應的 enum 常數
+     * @throws IllegalArgumentException 若沒有對應的常數
+     */
+    public static NoteType fromSerializedName(String serializedName) {
+        NoteType type = BY_SERIALIZED_NAME.get(serializedName);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown NoteType: " + serializedName);
+        }
+        return type;
+    }
 }
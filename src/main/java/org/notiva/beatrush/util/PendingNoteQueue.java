@@ -0,0 +1,141 @@
+package org.notiva.beatrush.util;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <h2>待判定音符佇列</h2>
+ * <p>
+ * 以環狀緩衝區存放單一音軌上已出現、尚未判定的音符索引（{@link NoteTable} 索引）。
+ * 音符依出現順序加入，也就是依打擊時間排序，因此佇列開頭永遠是最早該被打擊的音符，
+ * 判定時只需檢查開頭即可（O(1)）。
+ * </p>
+ *
+ * <p>容量固定為 2 的次方，滿了才會加倍，遊戲進行中不會逐幀配置記憶體。</p>
+ */
+public class PendingNoteQueue {
+
+    /** 預設初始容量 */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** 音符索引緩衝區 */
+    private int[] elements;
+
+    /** 開頭元素位置 */
+    private int head = 0;
+
+    /** 元素數量 */
+    private int size = 0;
+
+    /**
+     * 以預設容量建構佇列。
+     */
+    public PendingNoteQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 以指定的初始容量建構佇列（會向上取到 2 的次方）。
+     *
+     * @param initialCapacity 初始容量
+     */
+    public PendingNoteQueue(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + initialCapacity);
+        }
+        int capacity = Integer.highestOneBit(initialCapacity);
+        if (capacity < initialCapacity) {
+            capacity <<= 1;
+        }
+        this.elements = new int[capacity];
+    }
+
+    /**
+     * 將音符索引加到佇列尾端。
+     *
+     * @param noteIndex 音符索引
+     */
+    public void add(int noteIndex) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = noteIndex;
+        size++;
+    }
+
+    /**
+     * 取得佇列開頭的音符索引，但不移除。
+     *
+     * @return 開頭的音符索引；若佇列為空則為 -1
+     */
+    public int peek() {
+        return size == 0 ? -1 : elements[head];
+    }
+
+    /**
+     * 移除並回傳佇列開頭的音符索引。
+     *
+     * @return 開頭的音符索引
+     * @throws NoSuchElementException 佇列為空
+     */
+    public int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException("Pending note queue is empty");
+        }
+        int noteIndex = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return noteIndex;
+    }
+
+    /**
+     * 取得佇列中第 {@code offset} 個音符索引（0 為開頭）。
+     *
+     * @param offset 距離開頭的位置
+     * @return 音符索引
+     * @throws IndexOutOfBoundsException 位置超出範圍
+     */
+    public int get(int offset) {
+        if (offset < 0 || offset >= size) {
+            throw new IndexOutOfBoundsException("Offset " + offset + " out of bounds for size " + size);
+        }
+        return elements[(head + offset) & (elements.length - 1)];
+    }
+
+    /**
+     * 檢查佇列是否為空。
+     *
+     * @return 若為空則為 true
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 取得佇列中的音符數量。
+     *
+     * @return 音符數量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 清空佇列（保留已配置的容量）。
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * 容量加倍，並將元素依序搬到新緩衝區開頭。
+     */
+    private void grow() {
+        int[] grown = new int[elements.length << 1];
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, grown, 0, firstPart);
+        System.arraycopy(elements, 0, grown, firstPart, size - firstPart);
+        elements = grown;
+        head = 0;
+    }
+}
@@ -0,0 +1,11 @@
+package org.notiva.beatrush.util;
+
+/**
+ * <h2>遊玩區繪製模式</h2>
+ */
+public enum PlayfieldMode {
+    /** 每個音符都是一個 {@code NoteView} 場景節點 */
+    SCENE_GRAPH,
+    /** 所有音符、長按本體與判定線都以 {@code Canvas} 即時繪製 */
+    CANVAS
+}
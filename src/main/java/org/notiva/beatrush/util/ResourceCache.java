@@ -0,0 +1,285 @@
+package org.notiva.beatrush.util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * <h2>有容量上限的資源快取</h2>
+ * <p>
+ * 依估計大小（weight）限制總容量，超過時淘汰最久未使用（LRU）的項目。
+ * 同一個鍵同時只會載入一次：載入中的其他請求會等待同一次載入的結果（single-flight），
+ * 載入失敗不會被快取，例外會交給所有等待者。
+ * </p>
+ *
+ * <p>
+ * 載入本身在呼叫端的執行緒上、鎖之外執行，因此不同鍵的載入可以同時進行。
+ * 淘汰只是從快取移除參考，已取得資源的使用者不受影響。
+ * 同時統計命中、未命中、共用載入與淘汰次數，可透過 {@link #toString()} 查看。
+ * </p>
+ *
+ * <p>使用範例：</p>
+ * <pre>{@code
+ * ResourceCache<String, Media> cache = new ResourceCache<>("media", 256L << 20,
+ *         ResourceLoader::loadMedia, (path, media) -> estimateBytes(path));
+ * Media media = cache.get("/media/sound/background-music.mp3");
+ * }</pre>
+ *
+ * @param <K> 鍵
+ * @param <V> 資源
+ */
+public class ResourceCache<K, V> {
+
+    /**
+     * 快取項目
+     */
+    private static final class Entry<V> {
+        private final V value;
+        private final long weight;
+
+        private Entry(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private final String name;
+    private final long maxWeight;
+    private final Function<K, V> loader;
+    private final ToLongBiFunction<K, V> weigher;
+
+    /**
+     * 已載入的項目，依存取順序排列（最久未使用的在前）
+     */
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * 載入中的項目
+     */
+    private final Map<K, CompletableFuture<V>> loading = new HashMap<>();
+
+    private long totalWeight = 0;
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long sharedLoadCount = 0;
+    private long evictionCount = 0;
+
+    /**
+     * 建構資源快取。
+     *
+     * @param name      名稱（顯示用）
+     * @param maxWeight 容量上限（與 weigher 同單位，例如位元組）
+     * @param loader    載入函式
+     * @param weigher   估計資源大小的函式（不可為負）
+     */
+    public ResourceCache(String name, long maxWeight, Function<K, V> loader, ToLongBiFunction<K, V> weigher) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive: " + maxWeight);
+        }
+        this.name = name;
+        this.maxWeight = maxWeight;
+        this.loader = loader;
+        this.weigher = weigher;
+    }
+
+    /**
+     * 取得資源；若尚未載入則載入並快取，若其他執行緒正在載入則等待其結果。
+     *
+     * @param key 鍵
+     * @return 資源
+     * @throws RuntimeException 載入失敗時，載入函式丟出的例外
+     */
+    public V get(K key) {
+        CompletableFuture<V> future;
+        boolean owner = false;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                hitCount++;
+                return entry.value;
+            }
+            future = loading.get(key);
+            if (future != null) {
+                sharedLoadCount++;
+            } else {
+                missCount++;
+                future = new CompletableFuture<>();
+                loading.put(key, future);
+                owner = true;
+            }
+        }
+        return owner ? load(key, future) : await(future);
+    }
+
+    /**
+     * 檢查快取中是否已有此資源（不影響 LRU 順序與統計）。
+     *
+     * @param key 鍵
+     * @return 若已載入則為 true
+     */
+    public synchronized boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * 移除指定資源。
+     *
+     * @param key 鍵
+     */
+    public synchronized void remove(K key) {
+        Entry<V> entry = entries.remove(key);
+        if (entry != null) {
+            totalWeight -= entry.weight;
+        }
+    }
+
+    /**
+     * 重新估計指定資源的大小（例如資源在背景載入完成後才知道實際大小），超過容量上限時淘汰其他項目。
+     * 視為一次存取；快取中的資源已不是 value（已被淘汰或重新載入）時不做任何事。
+     *
+     * @param key   鍵
+     * @param value 資源
+     */
+    public synchronized void reweigh(K key, V value) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || entry.value != value) {
+            return;
+        }
+        long weight = Math.max(weigher.applyAsLong(key, value), 0);
+        entries.put(key, new Entry<>(value, weight));
+        totalWeight += weight - entry.weight;
+        evict(key);
+    }
+
+    /**
+     * 清空快取（不影響載入中的項目與統計）。
+     */
+    public synchronized void clear() {
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    /**
+     * 取得快取中的項目數量。
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 取得快取中所有項目的估計大小總和。
+     */
+    public synchronized long getTotalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * 取得容量上限。
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * 取得命中次數。
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * 取得未命中（實際載入）次數。
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * 取得等待其他執行緒載入結果的次數。
+     */
+    public synchronized long getSharedLoadCount() {
+        return sharedLoadCount;
+    }
+
+    /**
+     * 取得淘汰次數。
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * 執行載入並完成 future。
+     */
+    private V load(K key, CompletableFuture<V> future) {
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                loading.remove(key);
+            }
+            future.completeExceptionally(e);
+            throw e;
+        }
+        long weight = Math.max(weigher.applyAsLong(key, value), 0);
+        synchronized (this) {
+            loading.remove(key);
+            Entry<V> previous = entries.put(key, new Entry<>(value, weight));
+            if (previous != null) {
+                totalWeight -= previous.weight;
+            }
+            totalWeight += weight;
+            evict(key);
+        }
+        future.complete(value);
+        return value;
+    }
+
+    /**
+     * 淘汰最久未使用的項目直到不超過容量上限；剛放入的項目不會被淘汰。
+     *
+     * @param newestKey 剛放入的鍵
+     */
+    private void evict(K newestKey) {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (totalWeight > maxWeight && iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> eldest = iterator.next();
+            if (eldest.getKey().equals(newestKey)) {
+                continue;
+            }
+            totalWeight -= eldest.getValue().weight;
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * 等待其他執行緒的載入結果。
+     */
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("ResourceCache{%s, entries=%d, weight=%d/%d, hits=%d, misses=%d, shared=%d, evictions=%d}",
+                name, entries.size(), totalWeight, maxWeight,
+                hitCount, missCount, sharedLoadCount, evictionCount);
+    }
+}
@@ -1,25 +1,26 @@
 package org.notiva.beatrush.util;
 
-import javafx.beans.property.IntegerProperty;
-import javafx.beans.property.SimpleIntegerProperty;
-
 /**
  * <h2>分數</h2>
+ * <p>
+ * 以基本型別欄位存放，計分時不會觸發任何屬性通知；
+ * 畫面上的顯示由 {@code ScoreManager#publish(GameSnapshot)} 每幀同步一次。
+ * </p>
  */
 public class Score {
     // 基本分數
-    private final IntegerProperty totalScore = new SimpleIntegerProperty(0);
+    private int totalScore = 0;
 
     // 連擊相關
-    private final IntegerProperty combo = new SimpleIntegerProperty(0);
-    private final IntegerProperty maxCombo = new SimpleIntegerProperty(0);
+    private int combo = 0;
+    private int maxCombo = 0;
 
     // 各等級統計
-    private final IntegerProperty perfectCount = new SimpleIntegerProperty(0);
-    private final IntegerProperty greatCount = new SimpleIntegerProperty(0);
-    private final IntegerProperty goodCount = new SimpleIntegerProperty(0);
-    private final IntegerProperty badCount = new SimpleIntegerProperty(0);
-    private final IntegerProperty missCount = new SimpleIntegerProperty(0);
+    private int perfectCount = 0;
+    private int greatCount = 0;
+    private int goodCount = 0;
+    private int badCount = 0;
+    private int missCount = 0;
 
     public Score() {
     }
@@ -28,28 +29,28 @@ public class Score {
      * 複製建構子，用於建立分數快照
      */
     public Score(Score other) {
-        this.totalScore.set(other.getTotalScore());
-        this.combo.set(other.getCombo());
-        this.maxCombo.set(other.getMaxCombo());
-        this.perfectCount.set(other.getPerfectCount());
-        this.greatCount.set(other.getGreatCount());
-        this.goodCount.set(other.getGoodCount());
-        this.badCount.set(other.getBadCount());
-        this.missCount.set(other.getMissCount());
+        this.totalScore = other.totalScore;
+        this.combo = other.combo;
+        this.maxCombo = other.maxCombo;
+        this.perfectCount = other.perfectCount;
+        this.greatCount = other.greatCount;
+        this.goodCount = other.goodCount;
+        this.badCount = other.badCount;
+        this.missCount = other.missCount;
     }
 
     /**
      * 重置所有分數數據
      */
     public void reset() {
-        totalScore.set(0);
-        combo.set(0);
-        maxCombo.set(0);
-        perfectCount.set(0);
-        greatCount.set(0);
-        goodCount.set(0);
-        badCount.set(0);
-        missCount.set(0);
+        totalScore = 0;
+        combo = 0;
+        maxCombo = 0;
+        perfectCount = 0;
+        greatCount = 0;
+        goodCount = 0;
+        badCount = 0;
+        missCount = 0;
     }
 
     /**
@@ -60,10 +61,10 @@ public class Score {
         int totalHits = getTotalHits();
         if (totalHits == 0) return 100.0;
 
-        int weightedScore = perfectCount.get() * 100 +
-                greatCount.get() * 70 +
-                goodCount.get() * 30 +
-                badCount.get() * 10;
+        int weightedScore = perfectCount * 100 +
+                greatCount * 70 +
+                goodCount * 30 +
+                badCount * 10;
         return (double) weightedScore / (totalHits * 100) * 100;
     }
 
@@ -71,8 +72,8 @@ public class Score {
      * 取得總擊中次數
      */
     public int getTotalHits() {
-        return perfectCount.get() + greatCount.get() + goodCount.get() +
-                badCount.get() + missCount.get();
+        return perfectCount + greatCount + goodCount +
+                badCount + missCount;
     }
 
     /**
@@ -91,16 +92,16 @@ public class Score {
      * 增加分數
      */
     public void addScore(int score) {
-        totalScore.set(totalScore.get() + score);
+        totalScore += score;
     }
 
     /**
      * 更新連擊數
      */
     public void setCombo(int newCombo) {
-        combo.set(newCombo);
-        if (newCombo > maxCombo.get()) {
-            maxCombo.set(newCombo);
+        combo = newCombo;
+        if (newCombo > maxCombo) {
+            maxCombo = newCombo;
         }
     }
 
@@ -109,38 +110,30 @@ public class Score {
      */
     public void incrementCount(JudgementLevel level) {
         switch (level) {
-            case PERFECT -> perfectCount.set(perfectCount.get() + 1);
-            case GREAT -> greatCount.set(greatCount.get() + 1);
-            case GOOD -> goodCount.set(goodCount.get() + 1);
-            case BAD -> badCount.set(badCount.get() + 1);
-            case MISS -> missCount.set(missCount.get() + 1);
+            case PERFECT -> perfectCount++;
+            case GREAT -> greatCount++;
+            case GOOD -> goodCount++;
+            case BAD -> badCount++;
+            case MISS -> missCount++;
         }
     }
 
     // Getter 方法
-    public int getTotalScore() { return totalScore.get(); }
-    public IntegerProperty totalScoreProperty() { return totalScore; }
+    public int getTotalScore() { return totalScore; }
 
-    public int getCombo() { return combo.get(); }
-    public IntegerProperty comboProperty() { return combo; }
+    public int getCombo() { return combo; }
 
-    public int getMaxCombo() { return maxCombo.get(); }
-    public IntegerProperty maxComboProperty() { return maxCombo; }
+    public int getMaxCombo() { return maxCombo; }
 
-    public int getPerfectCount() { return perfectCount.get(); }
-    public IntegerProperty perfectCountProperty() { return perfectCount; }
+    public int getPerfectCount() { return perfectCount; }
 
-    public int getGreatCount() { return greatCount.get(); }
-    public IntegerProperty greatCountProperty() { return greatCount; }
+    public int getGreatCount() { return greatCount; }
 
-    public int getGoodCount() { return goodCount.get(); }
-    public IntegerProperty goodCountProperty() { return goodCount; }
+    public int getGoodCount() { return goodCount; }
 
-    public int getBadCount() { return badCount.get(); }
-    public IntegerProperty badCountProperty() { return badCount; }
+    public int getBadCount() { return badCount; }
 
-    public int getMissCount() { return missCount.get(); }
-    public IntegerProperty missCountProperty() { return missCount; }
+    public int getMissCount() { return missCount; }
 
     @Override
     public String toString() {
@@ -0,0 +1,93 @@
+package org.notiva.beatrush.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * <h2>快照緩衝區</h2>
+ * <p>
+ * 讓一個寫入執行緒把最新狀態交給一個讀取執行緒，兩邊都不需要上鎖、也不會互相等待，且不會建立物件。
+ * </p>
+ *
+ * <p>
+ * 除了寫入端與讀取端各自持有的緩衝外，還有一個「最新」緩衝：寫入端寫完後與它交換，
+ * 讀取端有新資料時再與它交換，交換以單一原子操作完成。
+ * 只用兩個緩衝時，寫入端在讀取端還在讀的時候就必須等待或覆寫，因此需要第三個。
+ * 讀取端取得的快照在下一次 {@link #acquire()} 之前不會被寫入端修改。
+ * </p>
+ *
+ * <p>使用範例：</p>
+ * <pre>{@code
+ * SnapshotBuffer<GameSnapshot> buffer = new SnapshotBuffer<>(GameSnapshot::new);
+ * // 寫入執行緒
+ * GameSnapshot writing = buffer.getWriteBuffer();
+ * ...
+ * buffer.publish();
+ * // 讀取執行緒
+ * GameSnapshot latest = buffer.acquire();
+ * }</pre>
+ *
+ * @param <T> 快照型別
+ */
+public class SnapshotBuffer<T> {
+
+    /** 「最新」緩衝索引中表示尚未被讀取的旗標 */
+    private static final int FRESH = 4;
+
+    /** 取出緩衝索引的遮罩 */
+    private static final int INDEX_MASK = 3;
+
+    private final Object[] buffers = new Object[3];
+
+    /** 寫入端持有的緩衝索引（只由寫入端存取） */
+    private int writeIndex = 0;
+
+    /** 讀取端持有的緩衝索引（只由讀取端存取） */
+    private int readIndex = 1;
+
+    /** 最新緩衝的索引，加上 {@link #FRESH} 旗標 */
+    private final AtomicInteger latest = new AtomicInteger(2);
+
+    /**
+     * 建構快照緩衝區。
+     *
+     * @param factory 建立空快照的工廠，會被呼叫三次
+     */
+    public SnapshotBuffer(Supplier<T> factory) {
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = factory.get();
+        }
+    }
+
+    /**
+     * 取得寫入端目前可寫入的快照（寫入端呼叫）。
+     * 內容為寫入端之前寫過的舊資料，應完整覆寫。
+     *
+     * @return 可寫入的快照
+     */
+    @SuppressWarnings("unchecked")
+    public T getWriteBuffer() {
+        return (T) buffers[writeIndex];
+    }
+
+    /**
+     * 發布寫好的快照，成為讀取端下一次取得的快照（寫入端呼叫）。
+     * 讀取端尚未取走的上一份快照會被丟棄並回收為寫入緩衝。
+     */
+    public void publish() {
+        writeIndex = latest.getAndSet(writeIndex | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * 取得最新發布的快照（讀取端呼叫）。沒有新的快照時回傳上一次取得的快照。
+     *
+     * @return 最新的快照
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if ((latest.get() & FRESH) != 0) {
+            readIndex = latest.getAndSet(readIndex) & INDEX_MASK;
+        }
+        return (T) buffers[readIndex];
+    }
+}
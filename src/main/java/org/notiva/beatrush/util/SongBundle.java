@@ -0,0 +1,56 @@
+package org.notiva.beatrush.util;
+
+import javafx.scene.media.Media;
+
+/**
+ * <h2>預載完成的歌曲</h2>
+ * <p>
+ * 開始遊玩所需的資源：歌曲資訊、解析完成的譜面與已建立的 {@link Media}。
+ * 由 {@code SongPreloader} 在背景建立，交給遊戲頁面直接使用。
+ * </p>
+ */
+public class SongBundle {
+    private final Song song;
+    private final Chart chart;
+    private final Media media;
+
+    /**
+     * 建構子。
+     *
+     * @param song  歌曲
+     * @param chart 譜面
+     * @param media 音樂
+     */
+    public SongBundle(Song song, Chart chart, Media media) {
+        this.song = song;
+        this.chart = chart;
+        this.media = media;
+    }
+
+    /**
+     * 取得歌曲。
+     *
+     * @return 歌曲
+     */
+    public Song getSong() {
+        return song;
+    }
+
+    /**
+     * 取得譜面。
+     *
+     * @return 譜面
+     */
+    public Chart getChart() {
+        return chart;
+    }
+
+    /**
+     * 取得音樂。
+     *
+     * @return 音樂
+     */
+    public Media getMedia() {
+        return media;
+    }
+}
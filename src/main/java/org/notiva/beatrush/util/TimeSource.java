@@ -0,0 +1,34 @@
+package org.notiva.beatrush.util;
+
+/**
+ * <h2>遊戲時間來源</h2>
+ * <p>
+ * 將 {@link GameTimer} 的單調經過時間換算為遊戲時間（ms），供 {@link DelayedMusicPlayer} 使用。
+ * 遊戲時間決定音符位置與判定，因此不同的時間來源可以決定遊戲要跟著哪一個時鐘走。
+ * </p>
+ */
+public interface TimeSource {
+
+    /**
+     * 將計時器經過時間換算為遊戲時間，每幀呼叫一次。
+     *
+     * @param timerMillis 計時器自啟動以來經過的時間（ms），單調遞增且已扣除暫停時間
+     * @return 遊戲時間（ms）
+     */
+    double toGameMillis(double timerMillis);
+
+    /**
+     * 估算指定計時器時間對應的遊戲時間，不改變內部狀態。
+     * 用於兩幀之間的查詢（例如按鍵判定），不會影響每幀的時間推進；
+     * 查詢的時間點可以早於上一幀。
+     *
+     * @param timerMillis 計時器自啟動以來經過的時間（ms）
+     * @return 估算的遊戲時間（ms）
+     */
+    double estimateGameMillis(double timerMillis);
+
+    /**
+     * 重置內部狀態（音樂停止或重新開始時呼叫）。
+     */
+    void reset();
+}
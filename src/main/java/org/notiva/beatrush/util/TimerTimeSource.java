@@ -0,0 +1,24 @@
+package org.notiva.beatrush.util;
+
+/**
+ * <h2>計時器時間來源</h2>
+ * <p>
+ * 直接以 {@link GameTimer} 的經過時間作為遊戲時間，不參考音樂播放進度。
+ * </p>
+ */
+public class TimerTimeSource implements TimeSource {
+
+    @Override
+    public double toGameMillis(double timerMillis) {
+        return timerMillis;
+    }
+
+    @Override
+    public double estimateGameMillis(double timerMillis) {
+        return timerMillis;
+    }
+
+    @Override
+    public void reset() {
+    }
+}
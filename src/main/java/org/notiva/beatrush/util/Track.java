@@ -1,39 +1,49 @@
 package org.notiva.beatrush.util;
 
-import java.util.List;
-
 /**
  * <h2>音軌</h2>
+ * <p>
+ * 持有單一音軌的 {@link NoteTable}，並以游標記錄下一個要出現的音符。
+ * </p>
  */
 public class Track {
     private TrackType trackType;
-    private List<Note> trackNotes;
+    private NoteTable noteTable;
     private int currentNoteIndex = 0;
-    private boolean finished = false;
 
-    public Track(TrackType trackType, List<Note> trackNotes) {
+    public Track(TrackType trackType, NoteTable noteTable) {
         this.trackType = trackType;
-        this.trackNotes = trackNotes;
+        this.noteTable = noteTable;
+    }
+
+    /**
+     * 取得游標所指音符的索引。
+     *
+     * @return 音符索引
+     */
+    public int getCurrentIndex() {
+        return currentNoteIndex;
     }
 
-    public Note getCurrentNote() {
-        return trackNotes.get(currentNoteIndex);
+    /**
+     * 取得游標所指音符的時間戳（ms）。
+     *
+     * @return 時間戳
+     */
+    public double getCurrentTimestamp() {
+        return noteTable.getTimestamp(currentNoteIndex);
     }
 
     public void next() {
         currentNoteIndex += 1;
-        if (currentNoteIndex >= trackNotes.size()) {
-            finished = true;
-        }
     }
 
     public void reset() {
         currentNoteIndex = 0;
-        finished = false;
     }
 
     public boolean isFinished() {
-        return finished;
+        return currentNoteIndex >= noteTable.size();
     }
 
     public TrackType getTrackType() {
@@ -44,11 +54,12 @@ public class Track {
         this.trackType = trackType;
     }
 
-    public List<Note> getTrackNotes() {
-        return trackNotes;
+    public NoteTable getNoteTable() {
+        return noteTable;
     }
 
-    public void setTrackNotes(List<Note> trackNotes) {
-        this.trackNotes = trackNotes;
+    public void setNoteTable(NoteTable noteTable) {
+        this.noteTable = noteTable;
+        reset();
     }
 }
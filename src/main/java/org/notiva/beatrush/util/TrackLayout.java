@@ -62,4 +62,15 @@ public class TrackLayout {
         this.scoringWindowStartY =
                 judgementLineY + (GameSetting.ObjectMotion.FALL_DOWN_Y_PER_MS * GameSetting.JudgmentWindow.BAD_MIN_MS);
     }
+
+    /**
+     * 依據遊戲時間計算音符的 Y 座標。
+     *
+     * @param spawnMillis   音符出現在 {@link #startY} 的遊戲時間（ms）
+     * @param elapsedMillis 已經過的遊戲時間（ms）
+     * @return 音符的 local Y 座標
+     */
+    public double calculateNoteY(double spawnMillis, double elapsedMillis) {
+        return startY + (elapsedMillis - spawnMillis) * GameSetting.ObjectMotion.FALL_DOWN_Y_PER_MS;
+    }
 }
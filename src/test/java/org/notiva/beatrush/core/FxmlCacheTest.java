@@ -0,0 +1,53 @@
+package org.notiva.beatrush.core;
+
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.layout.StackPane;
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link FxmlCache} 的測試。
+ * <p>
+ * 測試類別由 moduleplugin patch 進 {@code org.notiva.beatrush} 模組，在模組路徑上執行，
+ * 因此也檢查了 FXMLLoader 經由快取的類別載入器解析類別、注入 {@link FXML} 欄位在模組系統下可行。
+ * </p>
+ */
+class FxmlCacheTest {
+
+    private static final String RESOURCE_PATH = "/view/test/FxmlCacheTest.fxml";
+
+    /**
+     * 與自訂元件相同的寫法：元件本身同時作為 root 與 controller
+     */
+    static final class TestComponent extends StackPane {
+        @FXML
+        private Rectangle marker;
+    }
+
+    @Test
+    void runsOnModulePath() {
+        assertTrue(FxmlCache.class.getModule().isNamed(), "FxmlCache should be loaded from the org.notiva.beatrush module");
+    }
+
+    @Test
+    void loadsComponentRepeatedly() {
+        // 第二次起使用快取的 FXML 內容與類別查找結果 (包括找不到的類別)
+        for (int i = 0; i < 3; i++) {
+            TestComponent component = new TestComponent();
+            FXMLLoader loader = FxmlCache.load(RESOURCE_PATH, component);
+            assertSame(component, loader.getRoot());
+            assertSame(component, loader.getController());
+            assertEquals(2, component.getChildren().size());
+            assertNotNull(component.marker);
+            assertSame(component.marker, component.getChildren().get(1));
+        }
+    }
+
+    @Test
+    void rejectsMissingResource() {
+        assertThrows(IllegalArgumentException.class, () -> FxmlCache.load("/view/test/Missing.fxml", null));
+    }
+}
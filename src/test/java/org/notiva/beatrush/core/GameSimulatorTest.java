@@ -0,0 +1,83 @@
+package org.notiva.beatrush.core;
+
+import org.notiva.beatrush.util.Chart;
+import org.notiva.beatrush.util.InputScript;
+import org.notiva.beatrush.util.JudgementProfile;
+import org.notiva.beatrush.util.Score;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link GameSimulator} 的測試：以產生的譜面檢查判定規則的基本行為。
+ * <ul>
+ *   <li>自動遊玩（在每個音符的時間戳按下、在結束時放開）：全部 Perfect、沒有 Miss，且全程連擊不中斷。</li>
+ *   <li>完全不輸入：全部 Miss、沒有其他判定、分數與連擊。</li>
+ * </ul>
+ * 每個判定區間都會檢查，並重複執行同一個模擬器確認每次都從頭開始。
+ */
+class GameSimulatorTest {
+
+    private static final int[] NOTE_COUNTS = {1000, 10000};
+
+    /**
+     * 每個判定區間重複執行的次數
+     */
+    private static final int RUNS = 2;
+
+    @Test
+    void autoPlayIsAllPerfect() {
+        for (int noteCount : NOTE_COUNTS) {
+            Chart chart = ChartFixtures.generateChart(noteCount);
+            GameSimulator simulator = new GameSimulator(chart);
+            InputScript autoPlay = InputScript.autoPlay(chart);
+            for (JudgementProfile profile : JudgementProfile.values()) {
+                simulator.setJudgementProfile(profile);
+                String name = profile + "/" + noteCount;
+                for (int run = 0; run < RUNS; run++) {
+                    Score score = simulator.run(autoPlay);
+                    assertAll(name,
+                            () -> assertEquals(noteCount, score.getPerfectCount(), "perfect"),
+                            () -> assertEquals(0, score.getMissCount(), "miss"),
+                            () -> assertEquals(score.getMaxCombo(), score.getCombo(), "full combo"));
+                }
+            }
+        }
+    }
+
+    @Test
+    void noInputIsAllMiss() {
+        for (int noteCount : NOTE_COUNTS) {
+            GameSimulator simulator = new GameSimulator(ChartFixtures.generateChart(noteCount));
+            InputScript noInput = new InputScript.Builder().build();
+            for (JudgementProfile profile : JudgementProfile.values()) {
+                simulator.setJudgementProfile(profile);
+                String name = profile + "/" + noteCount;
+                for (int run = 0; run < RUNS; run++) {
+                    Score score = simulator.run(noInput);
+                    assertAll(name,
+                            () -> assertEquals(noteCount, score.getMissCount(), "miss"),
+                            () -> assertEquals(0, score.getTotalHits() - score.getMissCount(), "hits"),
+                            () -> assertEquals(0, score.getTotalScore(), "score"),
+                            () -> assertEquals(0, score.getMaxCombo(), "max combo"));
+                }
+            }
+        }
+    }
+
+    @Test
+    void runsStartFromScratch() {
+        Chart chart = ChartFixtures.generateChart(NOTE_COUNTS[0]);
+        GameSimulator simulator = new GameSimulator(chart);
+        InputScript autoPlay = InputScript.autoPlay(chart);
+        Score first = simulator.run(autoPlay);
+        // 中間插入完全不輸入的一輪，之後的結果應與第一輪相同
+        simulator.run(new InputScript.Builder().build());
+        Score again = simulator.run(autoPlay);
+        assertAll(
+                () -> assertEquals(first.getTotalScore(), again.getTotalScore(), "score"),
+                () -> assertEquals(first.getPerfectCount(), again.getPerfectCount(), "perfect"),
+                () -> assertEquals(first.getMaxCombo(), again.getMaxCombo(), "max combo"),
+                () -> assertEquals(first.getTotalHits(), again.getTotalHits(), "hits"));
+    }
+}